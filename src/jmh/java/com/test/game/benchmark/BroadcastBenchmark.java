@@ -0,0 +1,46 @@
+package com.test.game.benchmark;
+
+import com.test.game.RoundManager;
+import com.test.game.config.OutboundProperties;
+import com.test.game.outbound.OutboundSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of a round summary to 1k and 50k sessions. Sessions go through {@link OutboundSession}
+ * like in production, with the drain running inline so the cost of the send path is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastBenchmark {
+
+    @Param({"1000", "50000"})
+    public int sessions;
+
+    private RoundManager roundManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roundManager = Tables.roundManager();
+        OutboundProperties properties = new OutboundProperties();
+        for (int i = 0; i < sessions; i++) {
+            StubSession session = new StubSession("session-" + i);
+            roundManager.addPlayer("Player" + i, new OutboundSession(session, properties, Runnable::run));
+        }
+    }
+
+    @Benchmark
+    public void broadcastRoundResult() {
+        roundManager.resolveRound();
+    }
+}
@@ -0,0 +1,84 @@
+package com.test.game.benchmark;
+
+import com.test.game.GameWebSocketHandler;
+import com.test.game.RoundManager;
+import com.test.game.TableRegistry;
+import com.test.game.config.IntakeProperties;
+import com.test.game.config.ProtocolProperties;
+import com.test.game.dto.Bet;
+import com.test.game.intake.IntakeGate;
+import com.test.game.metrics.GameMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bet intake: parsing and dispatching a BET frame, and concurrent inserts into the round ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IntakeBenchmark {
+
+    private static final TextMessage BET = new TextMessage("BET:{\"nickname\":\"Player1\",\"number\":7,\"amount\":100}");
+    private static final TextMessage LENIENT_BET = new TextMessage("BET:{ \"amount\": 100, \"number\": 7, \"nickname\": \"Player1\" }");
+
+    private RoundManager roundManager;
+    private GameWebSocketHandler handler;
+    private StubSession session;
+    private Bet bet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        roundManager = Tables.roundManager();
+        // Limits high enough never to trip, so the per-frame checks are measured without refusals.
+        IntakeProperties intake = new IntakeProperties();
+        intake.setCommandsPerSecond(1e9);
+        intake.setBetsPerSecond(1e9);
+        intake.setCommandBurst(1 << 20);
+        intake.setBetBurst(1 << 20);
+        handler = new GameWebSocketHandler(TableRegistry.single(roundManager), new ProtocolProperties(), intake,
+                new IntakeGate(Long.MAX_VALUE), GameMetrics.NOOP);
+        session = new StubSession("player-1");
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, new TextMessage("NICKNAME:Player1"));
+        bet = new Bet("Player1", 7, 10000);
+        // A bet refused for any reason would make the benchmarks measure the error reply instead.
+        int playerId = roundManager.playerId("Player1");
+        long balance = roundManager.getBalance(playerId);
+        handler.handleMessage(session, BET);
+        if (roundManager.getBalance(playerId) >= balance) {
+            throw new IllegalStateException("Intake refused the benchmark's bet");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void drainLedger() {
+        roundManager.resolveRound();
+    }
+
+    @Benchmark
+    public void handleTextMessage() throws Exception {
+        handler.handleMessage(session, BET);
+    }
+
+    @Benchmark
+    public void handleTextMessageLenient() throws Exception {
+        handler.handleMessage(session, LENIENT_BET);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addBetConcurrently() throws Exception {
+        roundManager.addBet(bet);
+    }
+}
@@ -0,0 +1,57 @@
+package com.test.game.benchmark;
+
+import com.test.game.RoundManager;
+import com.test.game.dto.Bet;
+import com.test.game.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round settlement with 1k, 100k and 1M bets spread over 1000 players.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SettlementBenchmark {
+
+    private static final int PLAYERS = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int bets;
+
+    private RoundManager roundManager;
+    private List<Bet> round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roundManager = Tables.roundManager();
+        round = new ArrayList<>(bets);
+        for (int i = 0; i < PLAYERS; i++) {
+            roundManager.addPlayer("Player" + i, new StubSession("session-" + i));
+        }
+        for (int i = 0; i < bets; i++) {
+            round.add(new Bet("Player" + (i % PLAYERS), 1 + i % 10, Money.ofUnits(1 + i % 100)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void placeBets() {
+        roundManager.addBets(round);
+    }
+
+    @Benchmark
+    public void resolveRound() {
+        roundManager.resolveRound();
+    }
+}
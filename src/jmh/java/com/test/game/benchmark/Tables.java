@@ -0,0 +1,22 @@
+package com.test.game.benchmark;
+
+import com.test.game.RoundManager;
+import com.test.game.outcome.OutcomeSource;
+import com.test.game.wallet.Wallet;
+
+/**
+ * Tables for benchmarks: players start with a balance no run can exhaust, so every bet is debited
+ * and taken like in production.
+ */
+final class Tables {
+
+    private Tables() {
+    }
+
+    static RoundManager roundManager() {
+        return RoundManager.builder()
+                .outcomes(OutcomeSource.threadLocal())
+                .wallet(new Wallet(Long.MAX_VALUE / 2))
+                .build();
+    }
+}
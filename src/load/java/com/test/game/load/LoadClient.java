@@ -0,0 +1,159 @@
+package com.test.game.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.http.WebSocket;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One simulated player. Tracks when each of its bets was sent so the bet's outcome, carried in the
+ * player's WINNERS frame, can be timed, and times every WINNERS frame against the round timestamp
+ * it carries, which is the time the round was closed.
+ * <p>
+ * The client only sends bets once registered, so every ERROR frame rejects a bet. Rejections are
+ * answered right away, so the rejected bet is taken to be the latest one sent and is dropped from
+ * the pending bets, leaving the bets that will be settled to be timed.
+ */
+class LoadClient implements WebSocket.Listener {
+
+    private static final String TIMESTAMP_FIELD = "\"timestamp\":";
+    private static final String RESULT_FIELD = ",\"result\":";
+    private static final String PAYOUT_FIELD = "\"payout\":";
+
+    private final String nickname;
+    private final LoadStats stats;
+    private final Deque<Long> pendingBets = new ConcurrentLinkedDeque<>();
+    private final StringBuilder partial = new StringBuilder();
+    private volatile WebSocket webSocket;
+    private volatile CompletableFuture<WebSocket> lastSend = CompletableFuture.completedFuture(null);
+
+    LoadClient(String nickname, LoadStats stats) {
+        this.nickname = nickname;
+        this.stats = stats;
+    }
+
+    String nickname() {
+        return nickname;
+    }
+
+    boolean isOpen() {
+        WebSocket ws = webSocket;
+        return ws != null && !ws.isOutputClosed() && !ws.isInputClosed();
+    }
+
+    int pendingBets() {
+        return pendingBets.size();
+    }
+
+    /**
+     * Sends one bet unless the previous send on this connection is still in flight, in which case
+     * the bet is counted as skipped; {@link WebSocket} allows only one outstanding send.
+     */
+    void bet(int number, int amount) {
+        if (!isOpen() || !lastSend.isDone()) {
+            stats.betsSkipped.increment();
+            return;
+        }
+        pendingBets.add(System.nanoTime());
+        stats.betsSent.increment();
+        lastSend = webSocket.sendText("BET:{\"nickname\":\"" + nickname + "\",\"number\":" + number
+                + ",\"amount\":" + amount + "}", true);
+        lastSend.whenComplete((ws, e) -> {
+            if (e != null) {
+                stats.sendErrors.increment();
+            }
+        });
+    }
+
+    void close() {
+        if (isOpen()) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        this.webSocket = webSocket;
+        lastSend = webSocket.sendText("NICKNAME:" + nickname, true);
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partial.append(data);
+        if (last) {
+            handle(partial.toString());
+            partial.setLength(0);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        stats.disconnects.increment();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        stats.disconnects.increment();
+    }
+
+    private void handle(String message) {
+        if (message.startsWith("WINNERS")) {
+            long timestamp = parseTimestamp(message);
+            if (timestamp > 0) {
+                record(stats.tickToWinners, TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - timestamp));
+            }
+            int at = message.lastIndexOf(RESULT_FIELD);
+            while (at >= 0 && (at = message.indexOf(PAYOUT_FIELD, at + 1)) >= 0) {
+                betSettled();
+            }
+        } else if (message.startsWith("ERROR")) {
+            stats.errors.increment();
+            pendingBets.pollLast();
+        }
+    }
+
+    private void betSettled() {
+        Long sentAt = pendingBets.poll();
+        if (sentAt != null) {
+            stats.results.increment();
+            record(stats.betToResult, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt));
+        }
+    }
+
+    private static void record(ConcurrentHistogram histogram, long micros) {
+        histogram.recordValue(Math.max(micros, 0));
+    }
+
+    private static long parseTimestamp(String message) {
+        int start = message.lastIndexOf(TIMESTAMP_FIELD);
+        if (start < 0) {
+            return -1;
+        }
+        start += TIMESTAMP_FIELD.length();
+        int end = start;
+        while (end < message.length() && Character.isDigit(message.charAt(end))) {
+            end++;
+        }
+        return end > start ? Long.parseLong(message, start, end, 10) : -1;
+    }
+
+    static final class LoadStats {
+        final ConcurrentHistogram betToResult = new ConcurrentHistogram(3);
+        final ConcurrentHistogram tickToWinners = new ConcurrentHistogram(3);
+        final LongAdder betsSent = new LongAdder();
+        final LongAdder betsSkipped = new LongAdder();
+        final LongAdder results = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder sendErrors = new LongAdder();
+        final LongAdder disconnects = new LongAdder();
+    }
+}
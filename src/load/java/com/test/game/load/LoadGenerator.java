@@ -0,0 +1,145 @@
+package com.test.game.load;
+
+import com.test.game.load.LoadClient.LoadStats;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for a running game server.
+ * <p>
+ * Opens {@code load.clients} connections to {@code load.url}, registers a nickname on each and
+ * places {@code load.rate} bets per second spread round-robin over the open connections for
+ * {@code load.duration}. It then waits {@code load.drain} for outstanding results and prints
+ * bet-to-result and round-tick-to-WINNERS latency percentiles together with error and drop counts.
+ * <p>
+ * The WINNERS latency compares the round timestamp sent by the server with the local clock, so it
+ * is only meaningful when the generator runs on the same host as the server.
+ */
+public class LoadGenerator {
+
+    private static final long TICK_MILLIS = 10;
+    /** Stake in units; small against the starting balance so simulated players never run dry. */
+    private static final int BET_AMOUNT = 1;
+
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(System.getProperty("load.url", "ws://localhost:8080/ws/game"));
+        int clients = Integer.getInteger("load.clients", 1000);
+        int rate = Integer.getInteger("load.rate", 1000);
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT60S"));
+        Duration drain = Duration.parse(System.getProperty("load.drain", "PT15S"));
+        int connectConcurrency = Integer.getInteger("load.connect-concurrency", 256);
+
+        LoadStats stats = new LoadStats();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("Connecting %d clients to %s%n", clients, url);
+        List<LoadClient> connected = connect(httpClient, url, clients, connectConcurrency, stats);
+        System.out.printf("Connected %d clients, %d failed%n", connected.size(), clients - connected.size());
+        if (connected.isEmpty()) {
+            return;
+        }
+
+        stats.betToResult.reset();
+        stats.tickToWinners.reset();
+        System.out.printf("Placing %d bets/s for %s%n", rate, duration);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        double betsPerTick = rate * TICK_MILLIS / 1000.0;
+        double[] carry = {0};
+        int[] next = {0};
+        scheduler.scheduleAtFixedRate(() -> {
+            carry[0] += betsPerTick;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (; carry[0] >= 1; carry[0]--) {
+                LoadClient client = connected.get(next[0]);
+                next[0] = (next[0] + 1) % connected.size();
+                client.bet(random.nextInt(1, 11), BET_AMOUNT);
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(duration.toMillis());
+        scheduler.shutdownNow();
+        Thread.sleep(drain.toMillis());
+
+        report(stats, connected);
+        for (LoadClient client : connected) {
+            client.close();
+        }
+    }
+
+    private static List<LoadClient> connect(HttpClient httpClient, URI url, int clients, int concurrency,
+                                            LoadStats stats) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        LongAdder failures = new LongAdder();
+        List<CompletableFuture<LoadClient>> pending = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            inFlight.acquire();
+            LoadClient client = new LoadClient("load-" + i, stats);
+            pending.add(httpClient.newWebSocketBuilder()
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .buildAsync(url, client)
+                    .handle((ws, e) -> {
+                        inFlight.release();
+                        if (e != null) {
+                            failures.increment();
+                            return null;
+                        }
+                        return client;
+                    }));
+        }
+        List<LoadClient> connected = new ArrayList<>(clients);
+        for (CompletableFuture<LoadClient> future : pending) {
+            LoadClient client = future.join();
+            if (client != null) {
+                connected.add(client);
+            }
+        }
+        return connected;
+    }
+
+    private static void report(LoadStats stats, List<LoadClient> clients) {
+        long unanswered = 0;
+        long open = 0;
+        for (LoadClient client : clients) {
+            unanswered += client.pendingBets();
+            if (client.isOpen()) {
+                open++;
+            }
+        }
+        System.out.println();
+        System.out.printf("Clients open at end:  %d of %d%n", open, clients.size());
+        System.out.printf("Bets sent:            %d%n", stats.betsSent.sum());
+        System.out.printf("Bets skipped:         %d (previous send still in flight)%n", stats.betsSkipped.sum());
+        System.out.printf("Results received:     %d%n", stats.results.sum());
+        System.out.printf("Results missing:      %d%n", unanswered);
+        System.out.printf("Error frames:         %d%n", stats.errors.sum());
+        System.out.printf("Send errors:          %d%n", stats.sendErrors.sum());
+        System.out.printf("Disconnects:          %d%n", stats.disconnects.sum());
+        System.out.println();
+        printPercentiles("bet -> WIN/LOSE", stats.betToResult);
+        printPercentiles("round tick -> WINNERS", stats.tickToWinners);
+    }
+
+    private static void printPercentiles(String name, Histogram histogram) {
+        System.out.printf("%-22s n=%d p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n", name,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,164 @@
+package com.test.game.load;
+
+import com.test.game.money.Money;
+import com.test.game.payout.PayoutTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo estimate of the return to player of a {@link PayoutTable}.
+ * <p>
+ * Every simulated round places one unit on a uniformly chosen number and draws the winning number
+ * the same way {@code RoundManager} does. Rounds are split into fork-join tasks, each with its own
+ * {@link SplittableRandom} split off its parent's, and leaves only count wins per number; payouts
+ * and their moments are computed from the counts at the end, so the hot loop touches no objects and
+ * no floating point. Each win is paid with {@link PayoutTable#payout}, the call settlement makes, so
+ * the estimate includes its fixed-point rounding.
+ * <p>
+ * Run from the command line, it simulates the table the server is configured with: the
+ * {@code game.tables} number range and multipliers of {@code application.properties}, each of which a
+ * system property of the same name overrides.
+ */
+public class RtpSimulator {
+
+    private static final long LEAF_ROUNDS = 1 << 20;
+    private static final long STAKE = Money.MINOR_UNITS;
+    private static final double Z_95 = 1.959963984540054;
+    private static final String TABLES = "game.tables.";
+    private static final String MULTIPLIERS = TABLES + "payout-multipliers.";
+
+    private final PayoutTable table;
+    private final ForkJoinPool pool;
+
+    public RtpSimulator(PayoutTable table) {
+        this(table, ForkJoinPool.commonPool());
+    }
+
+    public RtpSimulator(PayoutTable table, ForkJoinPool pool) {
+        this.table = table;
+        this.pool = pool;
+    }
+
+    public Result simulate(long rounds, long seed) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("rounds must be positive");
+        }
+        long[] wins = pool.invoke(new Simulation(new SplittableRandom(seed), rounds, table.size()));
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < wins.length; i++) {
+            int number = table.minNumber() + i;
+            double returned = (double) table.payout(number, STAKE, number) / STAKE;
+            sum += wins[i] * returned;
+            sumOfSquares += wins[i] * returned * returned;
+        }
+        double rtp = sum / rounds;
+        double variance = (rounds > 1) ? (sumOfSquares - rounds * rtp * rtp) / (rounds - 1) : 0;
+        double halfWidth = Z_95 * Math.sqrt(variance / rounds);
+        return new Result(rounds, rtp, variance, rtp - halfWidth, rtp + halfWidth);
+    }
+
+    /**
+     * Outcome of a simulation. RTP and variance are per unit staked; the interval is the 95% normal
+     * approximation around the estimate.
+     */
+    public record Result(long rounds, double rtp, double variance, double ciLow, double ciHigh) {
+
+        public double standardError() {
+            return Math.sqrt(variance / rounds);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("rounds=%d rtp=%.5f%% variance=%.5f 95%% CI=[%.5f%%, %.5f%%]",
+                    rounds, rtp * 100, variance, ciLow * 100, ciHigh * 100);
+        }
+    }
+
+    private static final class Simulation extends RecursiveTask<long[]> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient SplittableRandom random;
+        private final long rounds;
+        private final int numbers;
+
+        Simulation(SplittableRandom random, long rounds, int numbers) {
+            this.random = random;
+            this.rounds = rounds;
+            this.numbers = numbers;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (rounds <= LEAF_ROUNDS) {
+                long[] wins = new long[numbers];
+                for (long i = 0; i < rounds; i++) {
+                    int bet = random.nextInt(numbers);
+                    if (bet == random.nextInt(numbers)) {
+                        wins[bet]++;
+                    }
+                }
+                return wins;
+            }
+            long half = rounds / 2;
+            Simulation left = new Simulation(random.split(), half, numbers);
+            left.fork();
+            long[] wins = new Simulation(random, rounds - half, numbers).compute();
+            long[] other = left.join();
+            for (int i = 0; i < numbers; i++) {
+                wins[i] += other[i];
+            }
+            return wins;
+        }
+    }
+
+    /**
+     * Builds the payout table described by the {@code game.tables} properties, with the server's
+     * defaults for any that are missing.
+     */
+    public static PayoutTable payoutTable(Properties properties) {
+        int minNumber = Integer.parseInt(properties.getProperty(TABLES + "min-number", "1"));
+        int maxNumber = Integer.parseInt(properties.getProperty(TABLES + "max-number", "10"));
+        double multiplier = Double.parseDouble(properties.getProperty(TABLES + "payout-multiplier", "9.9"));
+        Map<Integer, Double> overrides = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(MULTIPLIERS)) {
+                overrides.put(Integer.parseInt(name.substring(MULTIPLIERS.length())),
+                        Double.parseDouble(properties.getProperty(name)));
+            }
+        }
+        return PayoutTable.of(minNumber, maxNumber, multiplier, overrides);
+    }
+
+    public static void main(String[] args) {
+        long rounds = (args.length > 0) ? Long.parseLong(args[0]) : 1_000_000_000L;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : System.nanoTime();
+        Properties properties = new Properties();
+        try (InputStream in = RtpSimulator.class.getResourceAsStream("/application.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(TABLES))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        PayoutTable table = payoutTable(properties);
+        long start = System.nanoTime();
+        Result result = new RtpSimulator(table).simulate(rounds, seed);
+        System.out.printf("numbers=%d..%d %s theoretical=%.5f%% in %.2fs%n", table.minNumber(), table.maxNumber(),
+                result, table.theoreticalRtp() * 100, (System.nanoTime() - start) / 1e9);
+    }
+}
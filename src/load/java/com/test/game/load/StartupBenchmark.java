@@ -0,0 +1,175 @@
+package com.test.game.load;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark for the extracted application.
+ * <p>
+ * Starts the server {@code startup.runs} times in each of the {@code startup.modes}: {@code jit}
+ * (plain JVM), {@code spring-aot} ({@code -Dspring.aot.enabled=true}) and {@code aot-cache} (Spring
+ * AOT plus the JDK AOT cache at {@code startup.aot-cache}, skipped when the cache has not been
+ * built). Each run times, from process launch, when a client is registered (ready) and when it
+ * receives its first round result (first round), with the round interval shortened to
+ * {@code startup.round-interval} so the result is dominated by startup.
+ * <p>
+ * If {@code startup.max-first-round} is set, the benchmark fails when the median time to first
+ * round of the last mode measured, by default the most optimised one available, exceeds it, so
+ * startup regressions fail the build.
+ */
+public class StartupBenchmark {
+
+    private static final long POLL_MILLIS = 10;
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", "java");
+        File jar = new File(System.getProperty("startup.jar"));
+        File aotCache = new File(System.getProperty("startup.aot-cache", "app.aot"));
+        List<String> modes = Arrays.asList(System.getProperty("startup.modes", "jit,spring-aot,aot-cache").split(","));
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18080);
+        Duration roundInterval = Duration.parse(System.getProperty("startup.round-interval", "PT0.2S"));
+        Duration timeout = Duration.parse(System.getProperty("startup.timeout", "PT60S"));
+        String maxFirstRound = System.getProperty("startup.max-first-round");
+
+        long gated = -1;
+        for (String mode : modes) {
+            List<String> jvmArgs = jvmArgs(mode, aotCache);
+            if (jvmArgs == null) {
+                System.out.printf("%-10s skipped, %s has not been built%n", mode, aotCache);
+                continue;
+            }
+            long[] ready = new long[runs];
+            long[] firstRound = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                List<String> command = new ArrayList<>(List.of(java));
+                command.addAll(jvmArgs);
+                command.addAll(List.of("-cp", jar.getPath(), "com.test.game.GameApplication",
+                        "--server.port=" + port, "--game.tables.round-interval=" + roundInterval.toMillis() + "ms"));
+                long[] timings = measure(command, URI.create("ws://localhost:" + port + "/ws/game"), timeout);
+                ready[run] = timings[0];
+                firstRound[run] = timings[1];
+            }
+            Arrays.sort(ready);
+            Arrays.sort(firstRound);
+            System.out.printf("%-10s ready p50 %5d ms  min %5d ms | first round p50 %5d ms  min %5d ms%n", mode,
+                    median(ready), ready[0], median(firstRound), firstRound[0]);
+            gated = median(firstRound);
+        }
+
+        if (maxFirstRound != null && gated >= 0) {
+            long limit = Duration.parse(maxFirstRound).toMillis();
+            if (gated > limit) {
+                System.out.printf("Time to first round %d ms exceeds the limit of %d ms%n", gated, limit);
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * JVM options of a mode, or {@code null} if the mode cannot run because its AOT cache is missing.
+     */
+    private static List<String> jvmArgs(String mode, File aotCache) {
+        return switch (mode) {
+            case "jit" -> List.of();
+            case "spring-aot" -> List.of("-Dspring.aot.enabled=true");
+            case "aot-cache" -> aotCache.isFile()
+                    ? List.of("-Dspring.aot.enabled=true", "-XX:AOTCache=" + aotCache.getPath()) : null;
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + mode);
+        };
+    }
+
+    /**
+     * Launches the server, returns the milliseconds from launch until ready and until the first
+     * round result, and stops the server again.
+     */
+    private static long[] measure(List<String> command, URI url, Duration timeout) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Process server = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        WebSocket webSocket = null;
+        try {
+            FirstRoundListener listener = new FirstRoundListener();
+            while (webSocket == null) {
+                if (!server.isAlive()) {
+                    throw new IllegalStateException("Server exited with code " + server.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Server did not start within " + timeout);
+                }
+                try {
+                    webSocket = HTTP_CLIENT.newWebSocketBuilder().buildAsync(url, listener).join();
+                } catch (RuntimeException e) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+            long ready = listener.registered.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            long firstRound = listener.firstRound.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            return new long[]{TimeUnit.NANOSECONDS.toMillis(ready - start),
+                    TimeUnit.NANOSECONDS.toMillis(firstRound - start)};
+        } finally {
+            if (webSocket != null) {
+                webSocket.abort();
+            }
+            server.destroy();
+            if (!server.waitFor(10, TimeUnit.SECONDS)) {
+                server.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(deadline - System.nanoTime(), 0);
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Registers and bets once, then records when the registration and the first round result arrive.
+     */
+    private static final class FirstRoundListener implements WebSocket.Listener {
+
+        final CompletableFuture<Long> registered = new CompletableFuture<>();
+        final CompletableFuture<Long> firstRound = new CompletableFuture<>();
+        private final StringBuilder partial = new StringBuilder();
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            webSocket.sendText("NICKNAME:startup", true);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                String message = partial.toString();
+                partial.setLength(0);
+                if (message.startsWith("REGISTERED:")) {
+                    registered.complete(System.nanoTime());
+                    webSocket.sendText("BET:{\"nickname\":\"startup\",\"number\":1,\"amount\":1}", true);
+                } else if (message.startsWith("WINNERS")) {
+                    firstRound.complete(System.nanoTime());
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
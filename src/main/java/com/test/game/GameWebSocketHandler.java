@@ -1,56 +1,483 @@
 package com.test.game;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.game.config.IntakeProperties;
+import com.test.game.config.ProtocolProperties;
 import com.test.game.dto.Bet;
-import com.test.game.exception.BetException;
+import com.test.game.dto.RoundSummary;
+import com.test.game.dto.WinnersPage;
+import com.test.game.intake.IntakeGate;
+import com.test.game.intake.IntakePolicy;
+import com.test.game.intake.SessionLimits;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.player.PlayerRegistry;
+import com.test.game.protocol.BetParser;
+import com.test.game.protocol.BinaryProtocol;
+import com.test.game.protocol.ErrorCode;
 import com.test.game.util.BetValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static com.test.game.util.ErrorUtil.sendError;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Component
-public class GameWebSocketHandler extends TextWebSocketHandler {
+public class GameWebSocketHandler extends AbstractWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GameWebSocketHandler.class);
+
+    public static final String NICKNAME_ATTRIBUTE = "game.nickname";
+    public static final String PLAYER_ID_ATTRIBUTE = "game.playerId";
+    public static final String LIMITS_ATTRIBUTE = "game.limits";
 
-    private final RoundManager roundManager;
+    private static final String NICKNAME_PREFIX = "NICKNAME:";
+    private static final String BET_PREFIX = "BET:";
+    private static final String BETS_PREFIX = "BETS:";
+    private static final String JOIN_PREFIX = "JOIN:";
+    private static final String HISTORY_PREFIX = "HISTORY:";
+    private static final String ROUND_WINNERS_PREFIX = "ROUND_WINNERS:";
 
+    private final TableRegistry tables;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BetParser betParser;
+    private final int maxBatchSize;
+    private final int winnersPageSize;
+    private final IntakeProperties intakeProperties;
+    private final IntakeGate intake;
+    private final GameMetrics metrics;
+    private final BetValidator betValidator;
 
     public GameWebSocketHandler(RoundManager roundManager) {
-        this.roundManager = roundManager;
+        this(TableRegistry.single(roundManager), new ProtocolProperties());
+    }
+
+    public GameWebSocketHandler(TableRegistry tables, ProtocolProperties protocolProperties) {
+        this(tables, protocolProperties, new IntakeProperties(), IntakeGate.unbounded(), GameMetrics.NOOP);
+    }
+
+    public GameWebSocketHandler(TableRegistry tables, ProtocolProperties protocolProperties,
+                                IntakeProperties intakeProperties, IntakeGate intake, GameMetrics metrics) {
+        this(tables, protocolProperties, intakeProperties, intake, metrics, BetValidator.DEFAULT);
+    }
+
+    @Autowired
+    public GameWebSocketHandler(TableRegistry tables, ProtocolProperties protocolProperties,
+                                IntakeProperties intakeProperties, IntakeGate intake, GameMetrics metrics,
+                                BetValidator betValidator) {
+        this.tables = tables;
+        this.betParser = new BetParser(protocolProperties.getBetParserMode(), objectMapper);
+        this.maxBatchSize = protocolProperties.getMaxBatchSize();
+        this.winnersPageSize = protocolProperties.getWinnersPageSize();
+        this.intakeProperties = intakeProperties;
+        this.intake = intake;
+        this.metrics = metrics;
+        this.betValidator = betValidator;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        if (session.getAttributes() != null) {
+            session.getAttributes().put(LIMITS_ATTRIBUTE, new SessionLimits(intakeProperties));
+        }
     }
 
     @Override
-    public void afterConnectionEstablished(WebSocketSession session) {}
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        String nickname = nickname(session);
+        if (nickname != null) {
+            tables.forSession(session).removePlayer(nickname, session);
+        }
+    }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) {
         String payload = message.getPayload();
+        RoundManager roundManager = tables.forSession(session);
         try {
-            if (payload.startsWith("NICKNAME:")) {
-                String nickname = payload.split(":", 2)[1];
-                roundManager.addPlayer(nickname, session);
-            } else if (payload.startsWith("BET:")) {
-                Bet bet = objectMapper.readValue(payload.substring(4), Bet.class);
-                if (roundManager.getPlayerSession(bet.getNickname()) != null) {
-                    boolean isValid = BetValidator.isValid(bet);
-                    if (isValid) {
-                        roundManager.addBet(bet);
-                    } else {
-                        throw new BetException("Invalid bet");
+            if (!admitCommand(session)) {
+                refuse(session, BinaryProtocol.STATUS_RATE_LIMITED, null);
+                return;
+            }
+            if (payload.startsWith(NICKNAME_PREFIX)) {
+                String nickname = payload.substring(NICKNAME_PREFIX.length());
+                if (!PlayerRegistry.isValidNickname(nickname)) {
+                    sendError(session, ErrorCode.INVALID_NICKNAME);
+                    return;
+                }
+                int playerId = register(session, roundManager, nickname);
+                if (playerId == PlayerRegistry.NO_PLAYER) {
+                    sendError(session, ErrorCode.NICKNAME_TAKEN);
+                    return;
+                }
+                session.sendMessage(new TextMessage("REGISTERED:" + playerId));
+            } else if (payload.startsWith(BET_PREFIX)) {
+                if (intake.isSaturated()) {
+                    refuse(session, BinaryProtocol.STATUS_BUSY, null);
+                    return;
+                }
+                Bet bet = betParser.parse(payload, BET_PREFIX.length());
+                if (bet == null) {
+                    sendError(session, ErrorCode.MALFORMED_BET);
+                    return;
+                }
+                if (!admitBets(session, 1)) {
+                    refuse(session, BinaryProtocol.STATUS_RATE_LIMITED, null);
+                    return;
+                }
+                int playerId = registeredId(session);
+                if (playerId == PlayerRegistry.NO_PLAYER) {
+                    sendError(session, ErrorCode.NOT_REGISTERED);
+                    return;
+                }
+                BetValidator.Result result = betValidator.validate(bet);
+                if (result != BetValidator.Result.VALID) {
+                    sendError(session, result.error());
+                    return;
+                }
+                if (!Objects.equals(bet.getNickname(), nickname(session))) {
+                    sendError(session, ErrorCode.NICKNAME_MISMATCH);
+                    return;
+                }
+                bet.setPlayerId(playerId);
+                RoundManager.BetStatus status = roundManager.addBet(bet);
+                if (status != RoundManager.BetStatus.ACCEPTED) {
+                    sendError(session, status.error());
+                }
+            } else if (payload.startsWith(BETS_PREFIX)) {
+                if (intake.isSaturated()) {
+                    refuse(session, BinaryProtocol.STATUS_BUSY, null);
+                    return;
+                }
+                List<Bet> batch = betParser.parseBatch(payload, BETS_PREFIX.length());
+                if (batch == null) {
+                    sendError(session, ErrorCode.MALFORMED_BET);
+                    return;
+                }
+                if (batch.size() > maxBatchSize) {
+                    sendError(session, ErrorCode.BATCH_TOO_LARGE);
+                    return;
+                }
+                if (!admitBets(session, batch.size())) {
+                    refuse(session, BinaryProtocol.STATUS_RATE_LIMITED, null);
+                    return;
+                }
+                byte[] accepted = acceptBatch(session, roundManager, batch);
+                session.sendMessage(new TextMessage("BETS_ACK:" + batch.size() + ":" + HexFormat.of().formatHex(accepted)));
+            } else if (payload.startsWith(JOIN_PREFIX)) {
+                String tableId = payload.substring(JOIN_PREFIX.length());
+                byte status = join(session, tableId);
+                if (status == BinaryProtocol.STATUS_OK) {
+                    session.sendMessage(new TextMessage("JOINED:" + tableId));
+                    if (nickname(session) != null) {
+                        session.sendMessage(new TextMessage("REGISTERED:" + registeredId(session)));
                     }
+                } else if (status == BinaryProtocol.STATUS_TABLE_LIMIT) {
+                    sendError(session, ErrorCode.TABLE_LIMIT);
+                } else if (status == BinaryProtocol.STATUS_NICKNAME_TAKEN) {
+                    sendError(session, ErrorCode.NICKNAME_TAKEN);
+                } else {
+                    sendError(session, ErrorCode.INVALID_TABLE);
+                }
+            } else if (payload.startsWith(HISTORY_PREFIX)) {
+                int limit = parseLimit(payload.substring(HISTORY_PREFIX.length()));
+                if (limit > 0) {
+                    List<RoundSummary> rounds = roundManager.getHistory(limit);
+                    session.sendMessage(new TextMessage("HISTORY: " + objectMapper.writeValueAsString(rounds)));
                 } else {
-                    sendError(session, "Register player first, then place bet");
+                    sendError(session, ErrorCode.INVALID_HISTORY_SIZE);
                 }
+            } else if (payload.startsWith(ROUND_WINNERS_PREFIX)) {
+                sendWinners(session, roundManager, payload.substring(ROUND_WINNERS_PREFIX.length()));
             } else{
-                sendError(session, "Valid commands: NICKNAME:Player1 and BET:{\"nickname\":\"Player1\",\"number\":1,\"amount\":100}");
+                sendError(session, ErrorCode.UNKNOWN_COMMAND);
             }
-        } catch (BetException be) {
-            sendError(session, "Error placing bet: " + be.getMessage());
         } catch (Exception e) {
-            sendError(session, "General error: " + e.getMessage());
+            log.error("Failed to handle message: ", e);
+            sendError(session, ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        ByteBuffer frame = message.getPayload();
+        if (!BinaryProtocol.isBinary(session) || !frame.hasRemaining()) {
+            sendError(session, ErrorCode.SUBPROTOCOL_REQUIRED);
+            return;
+        }
+        byte op = frame.get();
+        try {
+            handleBinaryCommand(session, op, frame);
+        } catch (BufferUnderflowException | CharacterCodingException e) {
+            session.sendMessage(BinaryProtocol.ack(op, BinaryProtocol.STATUS_MALFORMED));
+        } catch (RuntimeException e) {
+            log.error("Failed to handle binary message: ", e);
+            session.sendMessage(BinaryProtocol.ack(op, ErrorCode.INTERNAL_ERROR.status()));
+        }
+    }
+
+    /**
+     * Handles the command of a binary frame, positioned past its opcode.
+     *
+     * @throws BufferUnderflowException if the frame is shorter than its command
+     * @throws CharacterCodingException if a string in the frame is not valid UTF-8
+     */
+    private void handleBinaryCommand(WebSocketSession session, byte op, ByteBuffer frame) throws IOException {
+        RoundManager roundManager = tables.forSession(session);
+        if (!admitCommand(session)) {
+            refuse(session, BinaryProtocol.STATUS_RATE_LIMITED, op);
+            return;
+        }
+        if ((op == BinaryProtocol.BET || op == BinaryProtocol.BETS) && intake.isSaturated()) {
+            refuse(session, BinaryProtocol.STATUS_BUSY, op);
+            return;
         }
+        if (op == BinaryProtocol.REGISTER) {
+            String nickname = UTF_8.newDecoder().decode(frame).toString();
+            if (!PlayerRegistry.isValidNickname(nickname)) {
+                session.sendMessage(BinaryProtocol.ack(op, ErrorCode.INVALID_NICKNAME.status()));
+                return;
+            }
+            int playerId = register(session, roundManager, nickname);
+            if (playerId == PlayerRegistry.NO_PLAYER) {
+                session.sendMessage(BinaryProtocol.ack(op, ErrorCode.NICKNAME_TAKEN.status()));
+                return;
+            }
+            session.sendMessage(BinaryProtocol.registered(playerId));
+        } else if (op == BinaryProtocol.BET && frame.remaining() == BinaryProtocol.BET_LENGTH - 1) {
+            int playerId = registeredId(session);
+            if (playerId == PlayerRegistry.NO_PLAYER) {
+                session.sendMessage(BinaryProtocol.ack(op, BinaryProtocol.STATUS_NOT_REGISTERED));
+                return;
+            }
+            if (!admitBets(session, 1)) {
+                refuse(session, BinaryProtocol.STATUS_RATE_LIMITED, op);
+                return;
+            }
+            int number = frame.get() & 0xFF;
+            Bet bet = new Bet(nickname(session), number, frame.getLong(), playerId);
+            BetValidator.Result result = betValidator.validate(bet);
+            if (result != BetValidator.Result.VALID) {
+                session.sendMessage(BinaryProtocol.ack(op, result.error().status()));
+                return;
+            }
+            RoundManager.BetStatus status = roundManager.addBet(bet);
+            session.sendMessage(BinaryProtocol.ack(op,
+                    status == RoundManager.BetStatus.ACCEPTED ? BinaryProtocol.STATUS_OK : status.error().status()));
+        } else if (op == BinaryProtocol.BETS && frame.remaining() >= Short.BYTES) {
+            int playerId = registeredId(session);
+            int count = Short.toUnsignedInt(frame.getShort());
+            if (count > maxBatchSize || frame.remaining() != count * BinaryProtocol.BATCH_ITEM_LENGTH) {
+                session.sendMessage(BinaryProtocol.ack(op, BinaryProtocol.STATUS_MALFORMED));
+                return;
+            }
+            if (playerId == PlayerRegistry.NO_PLAYER) {
+                session.sendMessage(BinaryProtocol.ack(op, BinaryProtocol.STATUS_NOT_REGISTERED));
+                return;
+            }
+            if (!admitBets(session, count)) {
+                refuse(session, BinaryProtocol.STATUS_RATE_LIMITED, op);
+                return;
+            }
+            String nickname = nickname(session);
+            List<Bet> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int number = frame.get() & 0xFF;
+                batch.add(new Bet(nickname, number, frame.getLong(), playerId));
+            }
+            session.sendMessage(BinaryProtocol.betsAck(count, acceptBatch(session, roundManager, batch)));
+        } else if (op == BinaryProtocol.JOIN) {
+            byte status = join(session, UTF_8.newDecoder().decode(frame).toString());
+            session.sendMessage(BinaryProtocol.ack(op, status));
+            if (status == BinaryProtocol.STATUS_OK && nickname(session) != null) {
+                session.sendMessage(BinaryProtocol.registered(registeredId(session)));
+            }
+        } else {
+            session.sendMessage(BinaryProtocol.ack(op, BinaryProtocol.STATUS_MALFORMED));
+        }
+    }
+
+    /**
+     * Validates every bet of a batch and inserts the valid ones with a single ledger operation.
+     * Every bet is placed for the session's own player: bets under another nickname, or of a session
+     * that has not registered, are not accepted, and neither are bets the balance does not cover.
+     *
+     * @return bitmap with bit {@code i % 8} of byte {@code i / 8} set if bet {@code i} was accepted
+     */
+    private byte[] acceptBatch(WebSocketSession session, RoundManager roundManager, List<Bet> batch) {
+        byte[] accepted = new byte[(batch.size() + 7) / 8];
+        List<Bet> valid = new ArrayList<>(batch.size());
+        int[] validIndexes = new int[batch.size()];
+        String nickname = nickname(session);
+        int playerId = registeredId(session);
+        for (int i = 0; i < batch.size(); i++) {
+            Bet bet = batch.get(i);
+            if (playerId != PlayerRegistry.NO_PLAYER && betValidator.validate(bet) == BetValidator.Result.VALID
+                    && Objects.equals(bet.getNickname(), nickname)) {
+                bet.setPlayerId(playerId);
+                validIndexes[valid.size()] = i;
+                valid.add(bet);
+                accepted[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        List<Bet> rejected = roundManager.addBets(valid);
+        if (!rejected.isEmpty()) {
+            for (int v = 0, r = 0; v < valid.size() && r < rejected.size(); v++) {
+                if (valid.get(v) == rejected.get(r)) {
+                    int i = validIndexes[v];
+                    accepted[i >> 3] &= (byte) ~(1 << (i & 7));
+                    r++;
+                }
+            }
+        }
+        return accepted;
+    }
+
+    private static boolean admitCommand(WebSocketSession session) {
+        SessionLimits limits = limits(session);
+        return limits == null || limits.tryCommand();
+    }
+
+    private static boolean admitBets(WebSocketSession session, int count) {
+        SessionLimits limits = limits(session);
+        return limits == null || limits.tryBets(count);
+    }
+
+    /**
+     * Applies the overflow policy to a frame over the session's limits ({@code STATUS_RATE_LIMITED})
+     * or shed because the node is saturated ({@code STATUS_BUSY}). Shedding never disconnects, since
+     * the session did nothing wrong. {@code op} is the binary opcode, or {@code null} for text frames.
+     */
+    private void refuse(WebSocketSession session, byte status, Byte op) throws IOException {
+        boolean rateLimited = status == BinaryProtocol.STATUS_RATE_LIMITED;
+        if (rateLimited) {
+            metrics.intakeRateLimited();
+        } else {
+            metrics.intakeShed();
+        }
+        IntakePolicy policy = intakeProperties.getOverflowPolicy();
+        if (policy == IntakePolicy.DISCONNECT && rateLimited) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Rate limit exceeded"));
+        } else if (policy != IntakePolicy.DROP) {
+            if (op != null) {
+                session.sendMessage(BinaryProtocol.ack(op, status));
+            } else {
+                sendError(session, rateLimited ? ErrorCode.RATE_LIMITED : ErrorCode.BUSY);
+            }
+        }
+    }
+
+    private static SessionLimits limits(WebSocketSession session) {
+        Map<String, Object> attributes = session.getAttributes();
+        return (attributes != null) ? (SessionLimits) attributes.get(LIMITS_ATTRIBUTE) : null;
+    }
+
+    /**
+     * Registers the session's player under the nickname, releasing the nickname it held before.
+     *
+     * @return the player's id, or {@link PlayerRegistry#NO_PLAYER} if another session holds the nickname
+     */
+    private static int register(WebSocketSession session, RoundManager roundManager, String nickname) {
+        int playerId = roundManager.addPlayer(nickname, session);
+        if (playerId == PlayerRegistry.NO_PLAYER) {
+            return playerId;
+        }
+        String previous = nickname(session);
+        if (previous != null && !previous.equals(nickname)) {
+            roundManager.removePlayer(previous, session);
+        }
+        if (session.getAttributes() != null) {
+            session.getAttributes().put(NICKNAME_ATTRIBUTE, nickname);
+            session.getAttributes().put(PLAYER_ID_ATTRIBUTE, playerId);
+        }
+        return playerId;
+    }
+
+    /**
+     * Moves the session, and its player if already registered, to the given table. The player stays
+     * where it is if another session holds its nickname at the new table.
+     */
+    private byte join(WebSocketSession session, String tableId) {
+        if (!tables.isJoinable(tableId)) {
+            return BinaryProtocol.STATUS_MALFORMED;
+        }
+        RoundManager table = tables.table(tableId);
+        if (table == null) {
+            return BinaryProtocol.STATUS_TABLE_LIMIT;
+        }
+        RoundManager current = tables.forSession(session);
+        String nickname = nickname(session);
+        if (nickname != null && current != table) {
+            int playerId = table.addPlayer(nickname, session);
+            if (playerId == PlayerRegistry.NO_PLAYER) {
+                return BinaryProtocol.STATUS_NICKNAME_TAKEN;
+            }
+            current.removePlayer(nickname, session);
+            session.getAttributes().put(PLAYER_ID_ATTRIBUTE, playerId);
+        }
+        session.getAttributes().put(TableRegistry.TABLE_ATTRIBUTE, tableId);
+        return BinaryProtocol.STATUS_OK;
+    }
+
+    /**
+     * Answers {@code ROUND_WINNERS:<round>:<page>} with one page of the full winner list of a recent
+     * round; the page defaults to 0.
+     */
+    private void sendWinners(WebSocketSession session, RoundManager roundManager, String query) throws IOException {
+        int separator = query.indexOf(':');
+        long round;
+        int page;
+        try {
+            round = Long.parseLong(separator < 0 ? query : query.substring(0, separator));
+            page = separator < 0 ? 0 : Integer.parseInt(query.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            round = -1;
+            page = -1;
+        }
+        if (round < 1 || page < 0) {
+            sendError(session, ErrorCode.INVALID_WINNERS_QUERY);
+            return;
+        }
+        WinnersPage winners = roundManager.getWinners(round, page, winnersPageSize);
+        if (winners == null) {
+            sendError(session, ErrorCode.WINNERS_UNAVAILABLE);
+            return;
+        }
+        session.sendMessage(new TextMessage("ROUND_WINNERS: " + objectMapper.writeValueAsString(winners)));
+    }
+
+    private static int parseLimit(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int registeredId(WebSocketSession session) {
+        Map<String, Object> attributes = session.getAttributes();
+        Object playerId = (attributes != null) ? attributes.get(PLAYER_ID_ATTRIBUTE) : null;
+        return (playerId != null) ? (Integer) playerId : PlayerRegistry.NO_PLAYER;
+    }
+
+    private static String nickname(WebSocketSession session) {
+        Map<String, Object> attributes = session.getAttributes();
+        return (attributes != null) ? (String) attributes.get(NICKNAME_ATTRIBUTE) : null;
     }
 }
@@ -4,110 +4,626 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.test.game.dto.Bet;
 import com.test.game.dto.Player;
+import com.test.game.dto.PlayerResult;
+import com.test.game.dto.RoundOpening;
 import com.test.game.dto.RoundResultResponse;
-import jakarta.annotation.Nullable;
-import jakarta.annotation.PostConstruct;
+import com.test.game.dto.RoundSummary;
+import com.test.game.dto.WinnersPage;
+import com.test.game.history.RoundHistory;
+import com.test.game.history.WinnerArchive;
+import com.test.game.intake.IntakeGate;
+import com.test.game.journal.BetJournal;
+import com.test.game.journal.RecoveredBet;
+import com.test.game.ledger.BetLedger;
+import com.test.game.ledger.RoundPhase;
+import com.test.game.ledger.SealedRound;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.metrics.TableMetrics;
+import com.test.game.outbound.Frames;
+import com.test.game.outcome.GeneratorOutcomeSource;
+import com.test.game.outcome.OutcomeSource;
+import com.test.game.outcome.OutcomeSource.Outcome;
+import com.test.game.payout.PayoutTable;
+import com.test.game.player.PlayerRegistry;
+import com.test.game.wallet.Account;
+import com.test.game.wallet.Wallet;
+import com.test.game.protocol.BinaryProtocol;
+import com.test.game.protocol.ErrorCode;
+import com.test.game.util.SerialExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Service;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static com.test.game.util.ErrorUtil.sendError;
 
-@Service
+/**
+ * Ledger, players and round clock of a single table. Tables are created by {@link TableRegistry},
+ * which pins each of them to one of its shard schedulers.
+ * <p>
+ * Rounds are pipelined: the clock only closes the open round on the shard thread and queues it for
+ * the settlement stage, which draws, pays out and publishes while the next round is already
+ * taking bets. See {@link RoundPhase}.
+ */
 public class RoundManager {
 
     private static final Logger log = LoggerFactory.getLogger(RoundManager.class);
-    private final List<Bet> currentBets = new ArrayList<>();
-    private final Map<String, WebSocketSession> players = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private static final Duration ROUND_INTERVAL = Duration.ofSeconds(10);
+    private static final int HISTORY_SIZE = 1000;
+    private static final int WINNER_ROUNDS = 16;
+    private static final Comparator<Player> BY_AMOUNT = Comparator.comparingLong(Player::getAmount);
+    private final BetLedger ledger;
+    private final PlayerRegistry players = new PlayerRegistry();
+    private final WinnerArchive winnerArchive = new WinnerArchive(WINNER_ROUNDS);
+    private final String tableId;
+    private final ScheduledExecutorService scheduler;
 
     private final ObjectMapper objectMapper;
-    private final Random random;
+    private final OutcomeSource outcomes;
+    private final BetJournal journal;
+    private final RoundHistory history;
+    private final TableMetrics metrics;
+    private final PayoutTable payoutTable;
+    private final Wallet wallet;
+    private final IntakeGate intake;
+    private final Executor settlement;
+    private final BetLedger.Listener journalAccepted;
+    /**
+     * Rounds closed for the node leading this table that await its outcome; only touched on the
+     * table's thread.
+     */
+    private final Map<Long, SealedRound> awaitingOutcome = new HashMap<>();
+    private volatile long settlingRound;
+    private volatile long publishedRound;
 
-    public RoundManager() {
-        this(new ObjectMapper(), new Random());
+    private RoundManager(Builder builder) {
+        this.tableId = builder.tableId;
+        this.scheduler = (builder.scheduler != null) ? builder.scheduler : Executors.newSingleThreadScheduledExecutor();
+        this.objectMapper = builder.objectMapper;
+        this.outcomes = (builder.outcomes != null) ? builder.outcomes : new GeneratorOutcomeSource(new Random());
+        this.journal = builder.journal;
+        this.history = (builder.history != null) ? builder.history : new RoundHistory(HISTORY_SIZE);
+        this.metrics = (builder.metrics != null) ? builder.metrics : GameMetrics.NOOP.table(tableId);
+        this.payoutTable = builder.payoutTable;
+        this.wallet = (builder.wallet != null) ? builder.wallet : new Wallet();
+        this.intake = builder.intake;
+        this.settlement = new SerialExecutor(builder.settlementExecutor);
+        this.ledger = new BetLedger(payoutTable.minNumber(), payoutTable.maxNumber());
+        this.journalAccepted = (round, bet) -> journal.betAccepted(tableId, round, bet);
     }
 
-    public RoundManager(ObjectMapper objectMapper, @Nullable Random random) {
-        this.objectMapper = objectMapper;
-        this.random = (random != null) ? random : new Random();
+    /**
+     * Returns a builder for a table whose every part defaults to a standalone, in-memory one: the
+     * default table id, its own scheduler, random outcomes, no journal, the standard payout table,
+     * a fresh wallet, unbounded intake and settlement on the closing thread.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private String tableId = TableRegistry.DEFAULT_TABLE;
+        private ScheduledExecutorService scheduler;
+        private ObjectMapper objectMapper = new ObjectMapper();
+        private OutcomeSource outcomes;
+        private BetJournal journal = BetJournal.NOOP;
+        private RoundHistory history;
+        private TableMetrics metrics;
+        private PayoutTable payoutTable = PayoutTable.standard();
+        private Wallet wallet;
+        private IntakeGate intake = IntakeGate.unbounded();
+        private Executor settlementExecutor = Runnable::run;
+
+        private Builder() {
+        }
+
+        public Builder tableId(String tableId) {
+            this.tableId = tableId;
+            return this;
+        }
+
+        /**
+         * Scheduler running the table's round clock and closing its rounds.
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public Builder objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        public Builder outcomes(OutcomeSource outcomes) {
+            this.outcomes = outcomes;
+            return this;
+        }
+
+        /**
+         * Draws outcomes from the given generator; shorthand for a {@link GeneratorOutcomeSource}.
+         */
+        public Builder random(Random random) {
+            return outcomes(new GeneratorOutcomeSource(random));
+        }
+
+        public Builder journal(BetJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        public Builder history(RoundHistory history) {
+            this.history = history;
+            return this;
+        }
+
+        public Builder metrics(TableMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public Builder payoutTable(PayoutTable payoutTable) {
+            this.payoutTable = payoutTable;
+            return this;
+        }
+
+        public Builder wallet(Wallet wallet) {
+            this.wallet = wallet;
+            return this;
+        }
+
+        public Builder intake(IntakeGate intake) {
+            this.intake = intake;
+            return this;
+        }
+
+        /**
+         * Executor the settlement stage runs on; the rounds of one table are settled one at a time
+         * and in order, whatever the executor.
+         */
+        public Builder settlementExecutor(Executor settlementExecutor) {
+            this.settlementExecutor = settlementExecutor;
+            return this;
+        }
+
+        public RoundManager build() {
+            return new RoundManager(this);
+        }
     }
 
-    @PostConstruct
     public void startGameLoop() {
-        scheduler.scheduleAtFixedRate(this::resolveRound, 10, 10, TimeUnit.SECONDS);
+        startGameLoop(ROUND_INTERVAL);
     }
 
-    public void addBet(Bet bet) {
-        currentBets.add(bet);
+    public void startGameLoop(Duration interval) {
+        long millis = interval.toMillis();
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        long[] nextTick = {System.nanoTime() + periodNanos};
+        // Later rounds are committed to as the previous one closes, see seal()
+        outcomes.commitment(ledger.openEpoch());
+        scheduler.scheduleAtFixedRate(() -> {
+            metrics.tickDrift(System.nanoTime() - nextTick[0]);
+            nextTick[0] += periodNanos;
+            closeRound();
+        }, millis, millis, TimeUnit.MILLISECONDS);
     }
 
-    public void addPlayer(String nickname, WebSocketSession session) {
-        players.put(nickname, session);
+    public String getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Whether {@link #addBet} took a bet, and if not, why.
+     */
+    public enum BetStatus {
+        ACCEPTED(null),
+        NOT_REGISTERED(ErrorCode.NOT_REGISTERED),
+        INSUFFICIENT_BALANCE(ErrorCode.INSUFFICIENT_BALANCE);
+
+        private final ErrorCode error;
+
+        BetStatus(ErrorCode error) {
+            this.error = error;
+        }
+
+        /** Error reported to the client, or {@code null} for {@link #ACCEPTED}. */
+        public ErrorCode error() {
+            return error;
+        }
+    }
+
+    /**
+     * Debits the stake from the player's account and puts the bet into the open round. Bets without
+     * a player id are placed for the connected player of their nickname; bets of nicknames not
+     * registered at this table are not taken.
+     */
+    public BetStatus addBet(Bet bet) {
+        BetStatus status = debit(bet);
+        if (status != BetStatus.ACCEPTED) {
+            return status;
+        }
+        ledger.add(bet, journalAccepted);
+        intake.added(1);
+        metrics.betsAccepted(1);
+        return status;
+    }
+
+    /**
+     * Debits every bet like {@link #addBet} and puts the covered ones into the open round with a
+     * single ledger operation.
+     *
+     * @return the bets that were not taken, for insufficient balance or an unregistered nickname
+     */
+    public List<Bet> addBets(List<Bet> bets) {
+        if (bets.isEmpty()) {
+            return List.of();
+        }
+        List<Bet> covered = new ArrayList<>(bets.size());
+        List<Bet> rejected = new ArrayList<>(0);
+        for (Bet bet : bets) {
+            (debit(bet) == BetStatus.ACCEPTED ? covered : rejected).add(bet);
+        }
+        if (!covered.isEmpty()) {
+            ledger.addAll(covered, journalAccepted);
+            intake.added(covered.size());
+            metrics.betsAccepted(covered.size());
+        }
+        return rejected;
+    }
+
+    /**
+     * Puts a bet recovered from the journal of a previous run into the open round.
+     */
+    public void restoreBet(RecoveredBet recovered) {
+        ledger.add(recovered.bet(), (round, bet) -> journal.betRestored(tableId, round, recovered));
+        intake.added(1);
+    }
+
+    /**
+     * Registers the player at this table.
+     *
+     * @return the player's id, which bets and settlement key on from now on
+     */
+    public int addPlayer(String nickname, WebSocketSession session) {
+        return players.register(nickname, session, wallet.account(nickname));
+    }
+
+    /**
+     * Returns the balance of a registered player in minor units.
+     */
+    public long getBalance(int playerId) {
+        Account account = players.account(playerId);
+        return (account != null) ? account.balance() : 0;
     }
 
     public WebSocketSession getPlayerSession(String nickname) {
-      return players.get(nickname);
+      return players.session(players.id(nickname));
     }
 
-   public void resolveRound() {
-        WebSocketSession session = null;
-       int winningNumber = random.nextInt(10) + 1;
-        List<Player> winners = new ArrayList<>();
+    public WebSocketSession getPlayerSession(int playerId) {
+        return players.session(playerId);
+    }
 
-        for (Bet bet : currentBets) {
-            try {
-                session = getPlayerSession(bet.getNickname());
-                if (session != null && session.isOpen()) {
-                    if (bet.getNumber() == winningNumber) {
-                        double winnings = bet.getAmount() * 9.9;
-                        winners.add(new Player(bet.getNickname(), winnings, session));
-                        session.sendMessage(new TextMessage("WIN: " + winnings));
-                    } else {
-                        session.sendMessage(new TextMessage("LOSE"));
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error resolving round: ", e);
-                if (session != null) {
-                    sendError(session, e.getMessage());
-                }
+    /**
+     * Returns the id of a connected player, or {@link PlayerRegistry#NO_PLAYER}.
+     */
+    public int playerId(String nickname) {
+        return players.id(nickname);
+    }
+
+    public void removePlayer(String nickname, WebSocketSession session) {
+        players.unregister(nickname, session);
+    }
+
+    /**
+     * Closes the open round at the round boundary and hands it to the settlement stage, so the next
+     * round opens right away instead of waiting for this one to be settled and published.
+     *
+     * @return id of the closed round
+     */
+    public long closeRound() {
+        SealedRound round = seal();
+        settlement.execute(() -> settle(round));
+        return round.epoch();
+    }
+
+    /**
+     * Closes the open round and settles it on the calling thread, bypassing the settlement stage.
+     * Only for use while the round clock is not running.
+     */
+    public void resolveRound() {
+        settle(seal());
+    }
+
+    /**
+     * Settles the open round with an outcome drawn elsewhere, e.g. by the node leading this table.
+     * The result is published under the drawing node's round id, which the outcome's seed and the
+     * commitment to it are bound to, so players can verify the draw.
+     *
+     * @param round          id of the round at the node that drew the outcome
+     * @param nextCommitment commitment to publish for the round that opens next, or {@code null}
+     * @throws IllegalArgumentException if the winning number is not on this table
+     */
+    public void resolveRound(long round, Outcome outcome, String nextCommitment) {
+        checkOutcome(outcome);
+        settle(seal(round + 1, nextCommitment), round, outcome, nextCommitment);
+    }
+
+    /**
+     * Closes the open round on the table's own thread because the node leading this table closed
+     * its round of the given id. The closed round is settled once {@link #scheduleResolve} brings
+     * the leader's outcome, so no bet can reach it after the outcome is known.
+     *
+     * @param round          id of the round at the leading node
+     * @param nextCommitment commitment to announce for the round that opens next, or {@code null}
+     */
+    public void scheduleSeal(long round, String nextCommitment) {
+        scheduler.execute(() -> {
+            if (awaitingOutcome.putIfAbsent(round, seal(round + 1, nextCommitment)) != null) {
+                log.warn("Table {} was already closed for round {} of its leader", tableId, round);
+            }
+        });
+    }
+
+    /**
+     * Like {@link #resolveRound(long, Outcome, String)}, but settles on the settlement stage, in
+     * order with the table's other rounds. The round closed by {@link #scheduleSeal} for the given
+     * id is settled, or if none was, the open round is closed on the table's own thread. The
+     * outcome is checked first, so a bad one leaves its bets where they are.
+     *
+     * @throws IllegalArgumentException if the winning number is not on this table
+     */
+    public void scheduleResolve(long round, Outcome outcome, String nextCommitment) {
+        checkOutcome(outcome);
+        scheduler.execute(() -> {
+            SealedRound sealed = awaitingOutcome.remove(round);
+            SealedRound settled = (sealed != null) ? sealed : seal(round + 1, nextCommitment);
+            settlement.execute(() -> settle(settled, round, outcome, nextCommitment));
+        });
+    }
+
+    private void checkOutcome(Outcome outcome) {
+        if (outcome.winningNumber() < payoutTable.minNumber() || outcome.winningNumber() > payoutTable.maxNumber()) {
+            throw new IllegalArgumentException("Winning number " + outcome.winningNumber() + " is outside the table");
+        }
+    }
+
+    /**
+     * Returns the phase of the given round of this table.
+     */
+    public RoundPhase phase(long round) {
+        if (round >= ledger.openEpoch()) {
+            return RoundPhase.OPEN;
+        }
+        if (round <= publishedRound) {
+            return RoundPhase.PUBLISHED;
+        }
+        return (round <= settlingRound) ? RoundPhase.SETTLING : RoundPhase.CLOSED;
+    }
+
+    /**
+     * Closes the open round. The seed of the round that opens in its place is committed to first,
+     * so the commitment exists before the round can take a bet.
+     */
+    private SealedRound seal() {
+        long nextRound = ledger.openEpoch() + 1;
+        String nextCommitment = outcomes.commitment(nextRound);
+        SealedRound round = seal(nextRound, nextCommitment);
+        outcomes.closed(round.epoch(), nextCommitment);
+        return round;
+    }
+
+    /**
+     * @param nextRound      id the round that opens next is published under
+     * @param nextCommitment commitment to the seed of the round that opens next, announced to the
+     *                       table's players as soon as it opens; {@code null} outside commit-reveal mode
+     */
+    private SealedRound seal(long nextRound, String nextCommitment) {
+        SealedRound round = ledger.seal();
+        if (nextCommitment != null) {
+            announce(new RoundOpening(nextRound, nextCommitment));
+        }
+        return round;
+    }
+
+    private void settle(SealedRound round) {
+        Outcome outcome = outcomes.draw(round.epoch(), round.minNumber(), round.maxNumber());
+        settle(round, round.epoch(), outcome, outcomes.commitment(round.epoch() + 1));
+    }
+
+    /**
+     * @param publishedAs round id the result is published and archived under; the journal keeps
+     *                    the ledger's own epoch
+     */
+    private void settle(SealedRound round, long publishedAs, Outcome outcome, String nextCommitment) {
+        long start = System.nanoTime();
+        settlingRound = round.epoch();
+        long timestamp = round.closedAt();
+        int winningNumber = outcome.winningNumber();
+        journal.roundSettled(tableId, round.epoch(), winningNumber);
+        List<Bet> winningBets = round.bets(winningNumber);
+        int winnerCount = winningBets.size();
+        String[] nicknames = new String[winnerCount];
+        long[] amounts = new long[winnerCount];
+        PriorityQueue<Player> top = new PriorityQueue<>(RoundResultResponse.TOP_WINNERS + 1, BY_AMOUNT);
+        Map<WebSocketSession, PlayerResult> results = new IdentityHashMap<>();
+        long totalPayout = 0;
+
+        for (int i = 0; i < winnerCount; i++) {
+            Bet bet = winningBets.get(i);
+            long winnings = payoutTable.payout(bet.getNumber(), bet.getAmount(), winningNumber);
+            accountOf(bet).credit(winnings);
+            totalPayout += winnings;
+            nicknames[i] = bet.getNickname();
+            amounts[i] = winnings;
+            if (top.size() < RoundResultResponse.TOP_WINNERS) {
+                top.add(new Player(bet.getNickname(), winnings, null));
+            } else if (winnings > top.peek().getAmount()) {
+                top.poll();
+                top.add(new Player(bet.getNickname(), winnings, null));
             }
+            addResult(results, bet, winnings);
         }
 
+        for (int number = round.minNumber(); number <= round.maxNumber(); number++) {
+            if (number == winningNumber || round.count(number) == 0) {
+                continue;
+            }
+            for (Bet bet : round.bets(number)) {
+                addResult(results, bet, 0);
+            }
+        }
+
+        List<Player> topWinners = new ArrayList<>(top);
+        topWinners.sort(BY_AMOUNT.reversed());
+        winnerArchive.record(publishedAs, nicknames, amounts);
+        history.record(publishedAs, winningNumber, timestamp, round.betCount(), round.totalStake(),
+                totalPayout, winnerCount, topWinners);
+
+        RoundResultResponse response = new RoundResultResponse(publishedAs, winningNumber, winnerCount,
+                totalPayout, topWinners, timestamp, outcome.seed(), nextCommitment);
         try {
-            RoundResultResponse response = new RoundResultResponse(winningNumber, winners);
-            String summary = "WINNERS: " + objectMapper.writeValueAsString(response);
-            broadcast(summary);
+            publish(objectMapper.writeValueAsBytes(response),
+                    BinaryProtocol.round(winningNumber, winnerCount, totalPayout), results);
         } catch (JsonProcessingException jpe) {
             log.error("Failed to process JSON: ", jpe);
-            if (session != null) {
-                sendError(session, "General error: " + jpe.getMessage());
+            for (WebSocketSession session : results.keySet()) {
+                sendError(session, ErrorCode.INTERNAL_ERROR);
             }
         }
-        currentBets.clear();
+        publishedRound = round.epoch();
+        intake.settled(round.betCount());
+        metrics.roundSettled(System.nanoTime() - start, round.betCount());
     }
 
-    private void broadcast(String message) {
-        players.values().forEach(session -> {
-            if (session.isOpen()) {
-                try {
-                    session.sendMessage(new TextMessage(message));
-                } catch (IOException e) {
-                    log.error("Failed to send message: ", e);
-                }
+    /**
+     * Returns up to {@code limit} of the most recently settled rounds of this table, newest first.
+     * Safe to call from any thread while the table is resolving.
+     */
+    public List<RoundSummary> getHistory(int limit) {
+        return history.latest(limit);
+    }
+
+    /**
+     * Returns one page of all winners of a recently settled round, or {@code null} if the round is
+     * not among the last {@value #WINNER_ROUNDS} rounds.
+     */
+    public WinnersPage getWinners(long round, int page, int pageSize) {
+        return winnerArchive.page(round, page, pageSize);
+    }
+
+    private BetStatus debit(Bet bet) {
+        if (bet.getPlayerId() == PlayerRegistry.NO_PLAYER) {
+            bet.setPlayerId(players.id(bet.getNickname()));
+        }
+        Account account = players.account(bet.getPlayerId());
+        if (account == null) {
+            return BetStatus.NOT_REGISTERED;
+        }
+        return account.tryDebit(bet.getAmount()) ? BetStatus.ACCEPTED : BetStatus.INSUFFICIENT_BALANCE;
+    }
+
+    /**
+     * Account winnings are credited to; bets restored from the journal without a player id credit
+     * the nickname's account.
+     */
+    private Account accountOf(Bet bet) {
+        Account account = players.account(bet.getPlayerId());
+        return (account != null) ? account : wallet.account(bet.getNickname());
+    }
+
+    /**
+     * Session a bet settles to. Bets without a player id, e.g. restored from the journal before the
+     * player reconnected, fall back to a nickname lookup.
+     */
+    private WebSocketSession sessionOf(Bet bet) {
+        int playerId = bet.getPlayerId();
+        return (playerId != PlayerRegistry.NO_PLAYER) ? players.session(playerId) : getPlayerSession(bet.getNickname());
+    }
+
+    /**
+     * Folds a settled bet into its player's round result; bets of players who are no longer
+     * connected to the table are settled without one.
+     */
+    private void addResult(Map<WebSocketSession, PlayerResult> results, Bet bet, long payout) {
+        WebSocketSession session = sessionOf(bet);
+        if (session != null) {
+            results.computeIfAbsent(session, s -> new PlayerResult()).add(bet, payout);
+        }
+    }
+
+    /**
+     * Sends the opening of a round to the table's text players. The binary protocol carries no
+     * commit-reveal data.
+     */
+    private void announce(RoundOpening opening) {
+        TextMessage frame;
+        try {
+            frame = Frames.roundOpen(objectMapper.writeValueAsBytes(opening));
+        } catch (JsonProcessingException jpe) {
+            log.error("Failed to process JSON: ", jpe);
+            return;
+        }
+        players.forEachSession(session -> {
+            if (!session.isOpen() || BinaryProtocol.isBinary(session)) {
+                return;
+            }
+            try {
+                session.sendMessage(frame);
+            } catch (IOException e) {
+                metrics.sendFailed();
+                log.error("Failed to send message: ", e);
+            }
+        });
+    }
+
+    /**
+     * Sends every player of the table one frame for the round: the shared summary, or for players
+     * who bet, the summary together with their own result.
+     */
+    private void publish(byte[] summary, byte[] binary, Map<WebSocketSession, PlayerResult> results)
+            throws JsonProcessingException {
+        TextMessage shared = Frames.winners(summary);
+        Map<WebSocketSession, byte[]> encoded = new IdentityHashMap<>(results.size());
+        for (Map.Entry<WebSocketSession, PlayerResult> entry : results.entrySet()) {
+            if (!BinaryProtocol.isBinary(entry.getKey())) {
+                encoded.put(entry.getKey(), objectMapper.writeValueAsBytes(entry.getValue()));
+            }
+        }
+        players.forEachSession(session -> {
+            if (!session.isOpen()) {
+                return;
+            }
+            PlayerResult result = results.get(session);
+            WebSocketMessage<?> message;
+            if (BinaryProtocol.isBinary(session)) {
+                message = (result != null) ? BinaryProtocol.roundResult(binary, result) : new BinaryMessage(binary);
+            } else {
+                message = (result != null) ? Frames.winners(summary, encoded.get(session)) : shared;
+            }
+            try {
+                session.sendMessage(message);
+            } catch (IOException e) {
+                metrics.sendFailed();
+                log.error("Failed to send message: ", e);
             }
         });
     }
@@ -0,0 +1,172 @@
+package com.test.game;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Independent tables of this node. Every table gets its own {@link RoundManager} and is pinned to
+ * one of a fixed set of single-threaded shard schedulers, so resolution of different tables runs
+ * in parallel while each table is still resolved by one thread.
+ */
+public final class TableRegistry {
+
+    public static final String DEFAULT_TABLE = "main";
+    public static final String TABLE_ATTRIBUTE = "game.table";
+
+    private static final Pattern TABLE_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @FunctionalInterface
+    public interface TableFactory {
+        RoundManager create(String tableId, ScheduledExecutorService shard);
+    }
+
+    private final Map<String, RoundManager> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final ScheduledExecutorService[] shards;
+    private final TableFactory factory;
+    private final int maxTables;
+    private final Duration roundInterval;
+    private final Predicate<String> clocked;
+    private final Predicate<String> joinable;
+
+    public TableRegistry(int shardCount, int maxTables, Duration roundInterval, TableFactory factory) {
+        this(shardCount, maxTables, roundInterval, factory, tableId -> true, tableId -> true);
+    }
+
+    /**
+     * @param clocked  whether this node runs the round clock of a table; tables it does not clock
+     *                 are settled from outside, through {@link RoundManager#scheduleResolve}
+     * @param joinable whether clients may join, and so open, a table; tables are never closed, so
+     *                 this bounds what a client can make the node run
+     */
+    public TableRegistry(int shardCount, int maxTables, Duration roundInterval, TableFactory factory,
+                         Predicate<String> clocked, Predicate<String> joinable) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        this.shards = new ScheduledExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = Executors.newSingleThreadScheduledExecutor(shardThreadFactory(i));
+        }
+        this.factory = factory;
+        this.maxTables = maxTables;
+        this.roundInterval = roundInterval;
+        this.clocked = clocked;
+        this.joinable = joinable;
+        table(DEFAULT_TABLE);
+    }
+
+    private TableRegistry(RoundManager table) {
+        this.shards = new ScheduledExecutorService[0];
+        this.factory = null;
+        this.maxTables = 1;
+        this.roundInterval = null;
+        this.clocked = tableId -> true;
+        this.joinable = tableId -> true;
+        tables.put(DEFAULT_TABLE, table);
+        opened.set(1);
+    }
+
+    /**
+     * Registry with a single, already running default table and no way to open others.
+     */
+    public static TableRegistry single(RoundManager table) {
+        return new TableRegistry(table);
+    }
+
+    public static boolean isValidTableId(String tableId) {
+        return tableId != null && TABLE_ID.matcher(tableId).matches();
+    }
+
+    /**
+     * Whether a client may join the table with the given id.
+     */
+    public boolean isJoinable(String tableId) {
+        return isValidTableId(tableId) && (DEFAULT_TABLE.equals(tableId) || joinable.test(tableId));
+    }
+
+    /**
+     * Returns the table with the given id, opening it if needed.
+     *
+     * @return the table, or {@code null} when the table limit has been reached
+     */
+    public RoundManager table(String tableId) {
+        RoundManager table = tables.get(tableId);
+        if (table != null || factory == null) {
+            return table;
+        }
+        return tables.computeIfAbsent(tableId, this::open);
+    }
+
+    /**
+     * Creates and starts a table once a slot under the table limit has been reserved for it, so
+     * concurrent opens of different tables cannot exceed the limit together.
+     *
+     * @return the table, or {@code null} to leave the id unmapped when the limit has been reached
+     */
+    private RoundManager open(String tableId) {
+        if (opened.incrementAndGet() > maxTables) {
+            opened.decrementAndGet();
+            return null;
+        }
+        try {
+            RoundManager created = factory.create(tableId, shardFor(tableId));
+            if (clocked.test(tableId)) {
+                created.startGameLoop(roundInterval);
+            }
+            return created;
+        } catch (RuntimeException e) {
+            opened.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the table with the given id if it is open on this node, without opening it.
+     */
+    public RoundManager existingTable(String tableId) {
+        return tables.get(tableId);
+    }
+
+    /**
+     * Returns the table the session has joined, or the default table.
+     */
+    public RoundManager forSession(WebSocketSession session) {
+        Map<String, Object> attributes = session.getAttributes();
+        Object tableId = (attributes != null) ? attributes.get(TABLE_ATTRIBUTE) : null;
+        RoundManager table = (tableId != null) ? tables.get(tableId) : null;
+        return (table != null) ? table : tables.get(DEFAULT_TABLE);
+    }
+
+    public Collection<RoundManager> tables() {
+        return tables.values();
+    }
+
+    public void shutdown() {
+        for (ScheduledExecutorService shard : shards) {
+            shard.shutdownNow();
+        }
+    }
+
+    private ScheduledExecutorService shardFor(String tableId) {
+        return shards[Math.floorMod(tableId.hashCode(), shards.length)];
+    }
+
+    private static ThreadFactory shardThreadFactory(int shard) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "table-shard-" + shard);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
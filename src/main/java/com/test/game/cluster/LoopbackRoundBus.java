@@ -0,0 +1,44 @@
+package com.test.game.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus connecting several nodes in one JVM, e.g. for tests. Each {@link #node()} is the
+ * bus of one node; messages are delivered synchronously on the publishing thread.
+ */
+public class LoopbackRoundBus {
+
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+    public RoundBus node() {
+        Node node = new Node();
+        nodes.add(node);
+        return node;
+    }
+
+    private final class Node implements RoundBus {
+
+        private final List<Consumer<RoundMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(RoundMessage message) {
+            for (Node node : nodes) {
+                if (node != this) {
+                    node.subscribers.forEach(subscriber -> subscriber.accept(message));
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(Consumer<RoundMessage> subscriber) {
+            subscribers.add(subscriber);
+        }
+
+        @Override
+        public void close() {
+            nodes.remove(this);
+        }
+    }
+}
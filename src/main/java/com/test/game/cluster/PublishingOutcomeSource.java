@@ -0,0 +1,40 @@
+package com.test.game.cluster;
+
+import com.test.game.outcome.OutcomeSource;
+
+/**
+ * Outcome source of a table this node leads: announces each round as closed as soon as the table
+ * seals it, then draws from the wrapped source and publishes the outcome, together with the next
+ * round's commitment, before the table settles it locally.
+ */
+class PublishingOutcomeSource implements OutcomeSource {
+
+    private final String tableId;
+    private final OutcomeSource delegate;
+    private final RoundBus bus;
+
+    PublishingOutcomeSource(String tableId, OutcomeSource delegate, RoundBus bus) {
+        this.tableId = tableId;
+        this.delegate = delegate;
+        this.bus = bus;
+    }
+
+    @Override
+    public Outcome draw(long round, int minNumber, int maxNumber) {
+        Outcome outcome = delegate.draw(round, minNumber, maxNumber);
+        bus.publish(new RoundOutcome(tableId, round, outcome.winningNumber(), outcome.seed(),
+                delegate.commitment(round + 1)));
+        return outcome;
+    }
+
+    @Override
+    public void closed(long round, String nextCommitment) {
+        delegate.closed(round, nextCommitment);
+        bus.publish(new RoundClosed(tableId, round, nextCommitment));
+    }
+
+    @Override
+    public String commitment(long round) {
+        return delegate.commitment(round);
+    }
+}
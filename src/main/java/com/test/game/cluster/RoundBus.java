@@ -0,0 +1,36 @@
+package com.test.game.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries round messages between the nodes of a cluster. A message published on one node is
+ * delivered to the subscribers of every other node, in publishing order; the publishing node does
+ * not receive it back.
+ */
+public interface RoundBus extends AutoCloseable {
+
+    /**
+     * Bus of a node running on its own: publishing is a no-op and nothing is ever delivered.
+     */
+    RoundBus NONE = new RoundBus() {
+        @Override
+        public void publish(RoundMessage message) {
+        }
+
+        @Override
+        public void subscribe(Consumer<RoundMessage> subscriber) {
+        }
+    };
+
+    void publish(RoundMessage message);
+
+    /**
+     * Registers a subscriber. Subscribers are called from the bus's delivery thread and should hand
+     * off any real work.
+     */
+    void subscribe(Consumer<RoundMessage> subscriber);
+
+    @Override
+    default void close() {
+    }
+}
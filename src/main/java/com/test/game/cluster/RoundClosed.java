@@ -0,0 +1,10 @@
+package com.test.game.cluster;
+
+/**
+ * A round of a table stopped taking bets at the node leading the table. Published before the
+ * outcome is drawn, so followers close their own round before anyone can learn the outcome.
+ *
+ * @param nextCommitment commitment for the round that opens next, or {@code null}
+ */
+public record RoundClosed(String tableId, long round, String nextCommitment) implements RoundMessage {
+}
@@ -0,0 +1,77 @@
+package com.test.game.cluster;
+
+import com.test.game.RoundManager;
+import com.test.game.TableRegistry;
+import com.test.game.outcome.OutcomeSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits the tables of a cluster between its nodes. Every table has one leader, picked by hashing
+ * the table id over the nodes; the leader runs the table's round clock, draws the outcome and
+ * publishes it on the {@link RoundBus}. The other nodes do not clock the table: they close their
+ * own open round of it when the leader announces its round closed, which the leader does before
+ * drawing, and settle that round when the leader's outcome arrives. The result is published under
+ * the leader's round id so the seed can be checked against the leader's commitment.
+ * <p>
+ * Bets stay on the node their player is connected to and are settled there, so each node fans the
+ * result out to its own sessions only, and round summaries and winner lists are per node.
+ */
+public class RoundDistribution {
+
+    private static final Logger log = LoggerFactory.getLogger(RoundDistribution.class);
+
+    /**
+     * A single node that leads every table.
+     */
+    public static final RoundDistribution STANDALONE = new RoundDistribution(0, 1, RoundBus.NONE);
+
+    private final int nodeIndex;
+    private final int nodeCount;
+    private final RoundBus bus;
+
+    public RoundDistribution(int nodeIndex, int nodeCount, RoundBus bus) {
+        if (nodeCount < 1 || nodeIndex < 0 || nodeIndex >= nodeCount) {
+            throw new IllegalArgumentException("Node " + nodeIndex + " is not one of " + nodeCount + " nodes");
+        }
+        this.nodeIndex = nodeIndex;
+        this.nodeCount = nodeCount;
+        this.bus = bus;
+    }
+
+    public boolean leads(String tableId) {
+        return Math.floorMod(tableId.hashCode(), nodeCount) == nodeIndex;
+    }
+
+    /**
+     * Returns the outcome source a table of this node should use: one that publishes what it draws
+     * if this node leads the table, or the given source otherwise, which then goes unused.
+     */
+    public OutcomeSource outcomeSource(String tableId, OutcomeSource source) {
+        return (nodeCount > 1 && leads(tableId)) ? new PublishingOutcomeSource(tableId, source, bus) : source;
+    }
+
+    /**
+     * Closes and settles the tables of the registry this node follows as their leaders' rounds
+     * close and their outcomes arrive. Messages about tables nobody on this node has joined are
+     * ignored.
+     */
+    public void attach(TableRegistry tables) {
+        bus.subscribe(message -> {
+            if (leads(message.tableId())) {
+                log.warn("Ignoring round of table {} published by another node; this node leads it",
+                        message.tableId());
+                return;
+            }
+            RoundManager table = tables.existingTable(message.tableId());
+            if (table == null) {
+                return;
+            }
+            switch (message) {
+                case RoundClosed closed -> table.scheduleSeal(closed.round(), closed.nextCommitment());
+                case RoundOutcome outcome ->
+                        table.scheduleResolve(outcome.round(), outcome.outcome(), outcome.nextCommitment());
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.game.cluster;
+
+/**
+ * Message the node leading a table publishes on the {@link RoundBus} about one of its rounds.
+ * Every round is first announced as {@link RoundClosed} and then as {@link RoundOutcome}.
+ */
+public sealed interface RoundMessage permits RoundClosed, RoundOutcome {
+
+    String tableId();
+
+    /**
+     * Round number at the leader, which followers publish their result under; their ledgers number
+     * rounds independently.
+     */
+    long round();
+}
@@ -0,0 +1,17 @@
+package com.test.game.cluster;
+
+import com.test.game.outcome.OutcomeSource.Outcome;
+
+/**
+ * Outcome of one round of a table as published by the node leading the table.
+ *
+ * @param seed           seed the winning number was derived from, or {@code null}
+ * @param nextCommitment commitment for the round that opens next, or {@code null}
+ */
+public record RoundOutcome(String tableId, long round, int winningNumber, String seed, String nextCommitment)
+        implements RoundMessage {
+
+    public Outcome outcome() {
+        return new Outcome(winningNumber, seed);
+    }
+}
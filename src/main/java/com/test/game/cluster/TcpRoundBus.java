@@ -0,0 +1,395 @@
+package com.test.game.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Round bus over plain TCP in a star: one node is the hub and listens, the others connect to it.
+ * The hub relays every message it receives to all other connected nodes. Meant for running two or
+ * three instances side by side, typically on the loopback interface.
+ * <p>
+ * Nodes share a secret. On connecting, both ends send a random nonce and prove they hold the
+ * secret with an HMAC-SHA256 of the nonce they received; a node that fails the proof is dropped
+ * before it receives anything. Every frame then carries an HMAC of the receiver's nonce, the
+ * frame's number on the connection and its payload, so frames cannot be forged, altered or
+ * replayed.
+ * <pre>
+ * hello:   [nonce: 16 bytes][proof: 32 bytes]
+ * frame:   [version: u8][length: i32][payload][mac: 32 bytes]
+ * closed:  [type = 1: u8][table id: UTF][round: i64][nextCommitment: UTF]
+ * outcome: [type = 2: u8][table id: UTF][round: i64][winningNumber: i32][seed: UTF][nextCommitment: UTF]
+ * </pre>
+ * Strings are {@link DataOutputStream#writeUTF modified UTF-8}; an empty seed or commitment stands
+ * for {@code null}. A node that loses the hub keeps reconnecting; messages published meanwhile are
+ * not delivered to it.
+ * <p>
+ * Messages are written to the sockets by a single sender thread, in publishing order, so neither
+ * the table threads and settlement stage publishing them nor the hub's reader threads block on a
+ * slow node.
+ */
+public class TcpRoundBus implements RoundBus {
+
+    private static final Logger log = LoggerFactory.getLogger(TcpRoundBus.class);
+    private static final byte VERSION = 2;
+    private static final byte CLOSED = 1;
+    private static final byte OUTCOME = 2;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_SIZE = 32;
+    private static final int NONCE_SIZE = 16;
+    private static final int MIN_SECRET_SIZE = 16;
+    private static final int MAX_PAYLOAD = 1 << 16;
+    private static final Duration HELLO_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+    private static final SecureRandom NONCES = new SecureRandom();
+
+    private final List<Consumer<RoundMessage>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Peer> peers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("round-bus-send").factory());
+    private final SecretKeySpec key;
+    private final ServerSocket server;
+    private volatile boolean closed;
+
+    private TcpRoundBus(byte[] secret, ServerSocket server) {
+        if (secret.length < MIN_SECRET_SIZE) {
+            throw new IllegalArgumentException("Round bus secret must be at least " + MIN_SECRET_SIZE + " bytes");
+        }
+        this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.server = server;
+    }
+
+    /**
+     * Starts the hub, listening on the given address; port 0 picks a free port, see {@link #port()}.
+     *
+     * @param secret secret shared by all nodes, at least 16 bytes
+     */
+    public static TcpRoundBus hub(String bindAddress, int port, byte[] secret) throws IOException {
+        ServerSocket server = new ServerSocket();
+        TcpRoundBus bus;
+        try {
+            bus = new TcpRoundBus(secret, server);
+            server.bind(new InetSocketAddress(bindAddress, port));
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(server);
+            throw e;
+        }
+        Thread.ofVirtual().name("round-bus-accept").start(bus::accept);
+        return bus;
+    }
+
+    /**
+     * Connects to the hub, retrying in the background until it is reachable.
+     *
+     * @param secret secret shared by all nodes, at least 16 bytes
+     */
+    public static TcpRoundBus connect(String host, int port, byte[] secret) {
+        TcpRoundBus bus = new TcpRoundBus(secret, null);
+        Thread.ofVirtual().name("round-bus-connect").start(() -> bus.connectLoop(host, port));
+        return bus;
+    }
+
+    public int port() {
+        return (server != null) ? server.getLocalPort() : -1;
+    }
+
+    /**
+     * Number of live connections that passed the secret check: nodes connected to the hub, or 1
+     * once a node reached the hub.
+     */
+    public int connections() {
+        return peers.size();
+    }
+
+    @Override
+    public void publish(RoundMessage message) {
+        sendAll(message, null);
+    }
+
+    @Override
+    public void subscribe(Consumer<RoundMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        sender.shutdownNow();
+        if (server != null) {
+            closeQuietly(server);
+        }
+        for (Peer peer : peers) {
+            peer.close();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Peer peer = new Peer(server.accept());
+                Thread.ofVirtual().name("round-bus-peer").start(() -> peer.run(true));
+            } catch (IOException e) {
+                if (!closed) {
+                    log.error("Round bus failed to accept a node: ", e);
+                }
+            }
+        }
+    }
+
+    private void connectLoop(String host, int port) {
+        while (!closed) {
+            try {
+                new Peer(new Socket(host, port)).run(false);
+            } catch (IOException e) {
+                log.debug("Round bus hub {}:{} not reachable: {}", host, port, e.getMessage());
+            }
+            if (!closed) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the message for every peer but {@code except}.
+     */
+    private void sendAll(RoundMessage message, Peer except) {
+        try {
+            sender.execute(() -> {
+                byte[] payload;
+                try {
+                    payload = encode(message);
+                } catch (IOException e) {
+                    log.error("Dropping round bus message of table {}: ", message.tableId(), e);
+                    return;
+                }
+                for (Peer peer : peers) {
+                    if (peer != except) {
+                        peer.send(payload);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Round bus closed, dropping message of table {}", message.tableId());
+        }
+    }
+
+    private void deliver(RoundMessage message) {
+        for (Consumer<RoundMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.error("Round bus subscriber failed: ", e);
+            }
+        }
+    }
+
+    private Mac mac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static byte[] encode(RoundMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        switch (message) {
+            case RoundClosed closed -> {
+                out.writeByte(CLOSED);
+                out.writeUTF(closed.tableId());
+                out.writeLong(closed.round());
+                out.writeUTF(emptyIfNull(closed.nextCommitment()));
+            }
+            case RoundOutcome outcome -> {
+                out.writeByte(OUTCOME);
+                out.writeUTF(outcome.tableId());
+                out.writeLong(outcome.round());
+                out.writeInt(outcome.winningNumber());
+                out.writeUTF(emptyIfNull(outcome.seed()));
+                out.writeUTF(emptyIfNull(outcome.nextCommitment()));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RoundMessage decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        String tableId = in.readUTF();
+        long round = in.readLong();
+        return switch (type) {
+            case CLOSED -> new RoundClosed(tableId, round, nullIfEmpty(in.readUTF()));
+            case OUTCOME -> {
+                int winningNumber = in.readInt();
+                String seed = in.readUTF();
+                yield new RoundOutcome(tableId, round, winningNumber, nullIfEmpty(seed), nullIfEmpty(in.readUTF()));
+            }
+            default -> throw new IOException("Unknown round bus message type " + type);
+        };
+    }
+
+    private static String emptyIfNull(String value) {
+        return (value != null) ? value : "";
+    }
+
+    private static String nullIfEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // already closing
+        }
+    }
+
+    private final class Peer {
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final byte[] localNonce = new byte[NONCE_SIZE];
+        private final byte[] remoteNonce = new byte[NONCE_SIZE];
+        /** Only used by the reader thread. */
+        private final Mac receiveMac = mac();
+        /** Only used by the sender thread, once the peer is connected. */
+        private final Mac sendMac = mac();
+        private long received;
+        private long sent;
+
+        Peer(Socket socket) throws IOException {
+            this.socket = socket;
+            try {
+                socket.setTcpNoDelay(true);
+                this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            } catch (IOException e) {
+                closeQuietly(socket);
+                throw e;
+            }
+        }
+
+        /**
+         * Checks that the other end holds the secret, then reads messages until the connection
+         * ends; the hub relays each of them to the other peers.
+         */
+        void run(boolean hub) {
+            try {
+                hello();
+                peers.add(this);
+                log.info(hub ? "Round bus node {} connected" : "Connected to round bus hub {}",
+                        socket.getRemoteSocketAddress());
+                while (true) {
+                    RoundMessage message = receive();
+                    deliver(message);
+                    if (hub) {
+                        sendAll(message, this);
+                    }
+                }
+            } catch (EOFException e) {
+                log.info("Round bus node {} disconnected", socket.getRemoteSocketAddress());
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Round bus connection to {} failed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+                }
+            } finally {
+                close();
+            }
+        }
+
+        private void hello() throws IOException {
+            socket.setSoTimeout((int) HELLO_TIMEOUT.toMillis());
+            NONCES.nextBytes(localNonce);
+            out.write(localNonce);
+            out.flush();
+            in.readFully(remoteNonce);
+            out.write(sendMac.doFinal(remoteNonce));
+            out.flush();
+            byte[] proof = new byte[MAC_SIZE];
+            in.readFully(proof);
+            if (!MessageDigest.isEqual(proof, receiveMac.doFinal(localNonce))) {
+                throw new IOException("Round bus node does not hold the shared secret");
+            }
+            socket.setSoTimeout(0);
+        }
+
+        private RoundMessage receive() throws IOException {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported round bus frame version " + version);
+            }
+            int length = in.readInt();
+            if (length <= 0 || length > MAX_PAYLOAD) {
+                throw new IOException("Round bus frame of " + length + " bytes");
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            byte[] tag = new byte[MAC_SIZE];
+            in.readFully(tag);
+            if (!MessageDigest.isEqual(tag, tag(receiveMac, localNonce, received++, payload))) {
+                throw new IOException("Round bus frame failed authentication");
+            }
+            return decode(payload);
+        }
+
+        /**
+         * Only called from the sender thread.
+         */
+        void send(byte[] payload) {
+            try {
+                out.writeByte(VERSION);
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.write(tag(sendMac, remoteNonce, sent++, payload));
+                out.flush();
+            } catch (IOException e) {
+                log.warn("Dropping round bus connection to {}: {}", socket.getRemoteSocketAddress(), e.getMessage());
+                close();
+            }
+        }
+
+        void close() {
+            peers.remove(this);
+            closeQuietly(socket);
+        }
+
+        private static byte[] tag(Mac mac, byte[] nonce, long frame, byte[] payload) {
+            mac.update(nonce);
+            mac.update(ByteBuffer.allocate(Long.BYTES).putLong(frame).array());
+            return mac.doFinal(payload);
+        }
+    }
+}
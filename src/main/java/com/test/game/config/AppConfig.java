@@ -1,15 +1,181 @@
 package com.test.game.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.game.RoundManager;
+import com.test.game.TableRegistry;
+import com.test.game.cluster.RoundBus;
+import com.test.game.cluster.RoundDistribution;
+import com.test.game.cluster.TcpRoundBus;
+import com.test.game.history.RoundHistory;
+import com.test.game.intake.IntakeGate;
+import com.test.game.journal.BetJournal;
+import com.test.game.journal.FileBetJournal;
+import com.test.game.journal.RecoveredBet;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.money.Money;
+import com.test.game.outcome.BatchedOutcomeSource;
+import com.test.game.outcome.CommitRevealOutcomeSource;
+import com.test.game.outcome.GeneratorOutcomeSource;
+import com.test.game.outcome.OutcomeSource;
+import com.test.game.payout.PayoutTable;
+import com.test.game.util.BetLimits;
+import com.test.game.util.BetValidator;
+import com.test.game.wallet.Wallet;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Random;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGeneratorFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 @Configuration
+@EnableConfigurationProperties({OutboundProperties.class, ProtocolProperties.class, TableProperties.class,
+        JournalProperties.class, OutcomeProperties.class, WalletProperties.class, IntakeProperties.class,
+        ClusterProperties.class, TrainingProperties.class})
 public class AppConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(AppConfig.class);
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService outboundExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService settlementExecutor(TableProperties properties) {
+        int threads = properties.getSettlementThreads() > 0
+                ? properties.getSettlementThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "round-settlement-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public GameMetrics gameMetrics(MeterRegistry meterRegistry) {
+        return new GameMetrics(meterRegistry);
+    }
+
+    @Bean
+    public IntakeGate intakeGate(IntakeProperties properties, GameMetrics metrics) {
+        IntakeGate gate = new IntakeGate(properties.getHighWaterMark());
+        metrics.bindIntake(gate::pending);
+        return gate;
+    }
+
+    @Bean(destroyMethod = "close")
+    public RoundBus roundBus(ClusterProperties properties) throws IOException {
+        if (!properties.isEnabled() || properties.getNodeCount() < 2) {
+            return RoundBus.NONE;
+        }
+        if (properties.getBusSecret() == null) {
+            throw new IllegalStateException("game.cluster.bus-secret must be set to run a cluster");
+        }
+        byte[] secret = properties.getBusSecret().getBytes(StandardCharsets.UTF_8);
+        if (properties.getNodeIndex() == 0) {
+            log.info("Starting round bus hub on {}:{}", properties.getBusBindAddress(), properties.getBusPort());
+            return TcpRoundBus.hub(properties.getBusBindAddress(), properties.getBusPort(), secret);
+        }
+        return TcpRoundBus.connect(properties.getBusHost(), properties.getBusPort(), secret);
+    }
+
+    @Bean
+    public RoundDistribution roundDistribution(ClusterProperties properties, RoundBus roundBus) {
+        if (!properties.isEnabled()) {
+            return RoundDistribution.STANDALONE;
+        }
+        return new RoundDistribution(properties.getNodeIndex(), properties.getNodeCount(), roundBus);
+    }
+
+    @Bean
+    public Wallet wallet(WalletProperties properties) {
+        return new Wallet(Money.fromDecimal(properties.getInitialBalance()));
+    }
+
+    @Bean
+    public BetValidator betValidator(TableProperties properties) {
+        return new BetValidator(new BetLimits(properties.getMinNumber(), properties.getMaxNumber(),
+                Money.fromDecimal(properties.getMinBet()), Money.fromDecimal(properties.getMaxBet())));
+    }
+
     @Bean
-    public Random random() {
-        return new Random();
+    public BetJournal betJournal(JournalProperties properties) throws IOException {
+        if (!properties.isEnabled()) {
+            return BetJournal.NOOP;
+        }
+        return new FileBetJournal(properties.getDirectory(), properties.getCommitInterval(),
+                properties.getSegmentSize().toBytes());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public TableRegistry tableRegistry(TableProperties properties, OutcomeProperties outcomeProperties,
+                                       BetJournal journal, GameMetrics metrics, Wallet wallet,
+                                       IntakeGate intakeGate, RoundDistribution distribution,
+                                       ExecutorService settlementExecutor, BetValidator betValidator) {
+        int shards = properties.getShards() > 0 ? properties.getShards() : Runtime.getRuntime().availableProcessors();
+        ObjectMapper objectMapper = new ObjectMapper();
+        BetLimits limits = betValidator.getLimits();
+        PayoutTable payoutTable = PayoutTable.of(limits.minNumber(), limits.maxNumber(),
+                properties.getPayoutMultiplier(), properties.getPayoutMultipliers());
+        Predicate<String> joinable = properties.isOpenOnJoin() ? tableId -> true : Set.copyOf(properties.getIds())::contains;
+        TableRegistry registry = new TableRegistry(shards, properties.getMaxTables(), properties.getRoundInterval(),
+                (tableId, shard) -> RoundManager.builder()
+                        .tableId(tableId)
+                        .scheduler(shard)
+                        .objectMapper(objectMapper)
+                        .outcomes(distribution.outcomeSource(tableId, outcomeSource(outcomeProperties)))
+                        .journal(journal)
+                        .history(new RoundHistory(properties.getHistorySize()))
+                        .metrics(metrics.table(tableId))
+                        .payoutTable(payoutTable)
+                        .wallet(wallet)
+                        .intake(intakeGate)
+                        .settlementExecutor(settlementExecutor)
+                        .build(),
+                distribution::leads, joinable);
+        distribution.attach(registry);
+        restoreUnsettledBets(registry, journal);
+        return registry;
+    }
+
+    /**
+     * Creates the outcome source of one table; every table gets its own so draws never contend.
+     */
+    private static OutcomeSource outcomeSource(OutcomeProperties properties) {
+        return switch (properties.getMode()) {
+            case GENERATOR -> new GeneratorOutcomeSource(RandomGeneratorFactory.of(properties.getAlgorithm()).create());
+            case THREAD_LOCAL -> OutcomeSource.threadLocal();
+            case BATCHED -> new BatchedOutcomeSource(RandomGeneratorFactory.of(properties.getAlgorithm()).create(),
+                    properties.getBatchSize());
+            case COMMIT_REVEAL -> new CommitRevealOutcomeSource();
+        };
+    }
+
+    private static void restoreUnsettledBets(TableRegistry registry, BetJournal journal) {
+        List<RecoveredBet> recovered = journal.recover();
+        for (RecoveredBet bet : recovered) {
+            RoundManager table = registry.table(bet.tableId());
+            if (table != null) {
+                table.restoreBet(bet);
+            } else {
+                log.warn("Dropping recovered bet of {} for unavailable table {}", bet.bet().getNickname(), bet.tableId());
+            }
+        }
+        journal.retireRecovered();
+        if (!recovered.isEmpty()) {
+            log.info("Restored {} unsettled bets from the journal", recovered.size());
+        }
     }
 }
@@ -0,0 +1,22 @@
+package com.test.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "game.cluster")
+public class ClusterProperties {
+    /** Whether round outcomes are shared with other nodes over the round bus. */
+    private boolean enabled = false;
+    /** Index of this node, from 0 to node-count - 1; node 0 is the bus hub. */
+    private int nodeIndex = 0;
+    /** Number of nodes tables are split between. */
+    private int nodeCount = 1;
+    /** Address the other nodes connect to the hub on. */
+    private String busHost = "localhost";
+    /** Address the hub listens on; only the loopback interface unless set otherwise. */
+    private String busBindAddress = "127.0.0.1";
+    private int busPort = 7400;
+    /** Secret shared by all nodes, at least 16 bytes; nodes without it cannot join the bus. */
+    private String busSecret;
+}
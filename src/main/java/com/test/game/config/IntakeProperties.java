@@ -0,0 +1,22 @@
+package com.test.game.config;
+
+import com.test.game.intake.IntakePolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "game.intake")
+public class IntakeProperties {
+    /** Frames a session may send per second; 0 disables the limit. */
+    private double commandsPerSecond = 50;
+    /** Frames a session may send at once after being idle. */
+    private int commandBurst = 100;
+    /** Bets a session may place per second, counting every bet of a batch; 0 disables the limit. */
+    private double betsPerSecond = 200;
+    /** Bets a session may place at once after being idle. */
+    private int betBurst = 512;
+    /** What to do with a frame over the session's limits. */
+    private IntakePolicy overflowPolicy = IntakePolicy.REJECT;
+    /** Unsettled bets across all tables above which new bets are shed; 0 disables shedding. */
+    private long highWaterMark = 1_000_000;
+}
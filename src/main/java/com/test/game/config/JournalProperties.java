@@ -0,0 +1,21 @@
+package com.test.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.journal")
+public class JournalProperties {
+    /** Whether accepted bets and settled rounds are journaled to disk. */
+    private boolean enabled = false;
+    /** Directory holding the journal segment files. */
+    private Path directory = Path.of("journal");
+    /** How often queued records are written and forced to disk in one batch. */
+    private Duration commitInterval = Duration.ofMillis(5);
+    /** Size after which the journal rolls over to a new segment file. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+}
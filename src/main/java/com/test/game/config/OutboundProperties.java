@@ -0,0 +1,18 @@
+package com.test.game.config;
+
+import com.test.game.outbound.OverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.outbound")
+public class OutboundProperties {
+    /** Maximum number of messages queued for a single session. */
+    private int bufferSizeLimit = 256;
+    /** Maximum time a single send may block before the session is treated as a slow consumer. */
+    private Duration sendTimeLimit = Duration.ofSeconds(5);
+    /** What to do with a session that exceeds one of the limits above. */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+}
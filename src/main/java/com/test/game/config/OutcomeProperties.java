@@ -0,0 +1,16 @@
+package com.test.game.config;
+
+import com.test.game.outcome.OutcomeMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "game.outcome")
+public class OutcomeProperties {
+    /** How round outcomes are drawn. */
+    private OutcomeMode mode = OutcomeMode.GENERATOR;
+    /** {@link java.util.random.RandomGeneratorFactory} algorithm used by the generator and batched modes. */
+    private String algorithm = "L64X128MixRandom";
+    /** Outcomes precomputed at a time in batched mode. */
+    private int batchSize = 1024;
+}
@@ -0,0 +1,18 @@
+package com.test.game.config;
+
+import com.test.game.protocol.BetParser;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "game.protocol")
+public class ProtocolProperties {
+    /** STRICT only accepts canonical bet payloads, LENIENT falls back to Jackson for anything else. */
+    private BetParser.Mode betParserMode = BetParser.Mode.LENIENT;
+    /** Maximum number of bets accepted in a single BETS frame. */
+    private int maxBatchSize = 256;
+    /** Winners per page of a ROUND_WINNERS reply. */
+    private int winnersPageSize = 100;
+    /** Whether clients may negotiate the permessage-deflate extension. */
+    private boolean compression = true;
+}
@@ -0,0 +1,56 @@
+package com.test.game.config;
+
+import com.test.game.GameWebSocketHandler;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.reactive.ReactiveGameHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.util.Map;
+
+/**
+ * Serves the game endpoint from Reactor Netty when the application runs as a reactive web
+ * application ({@code spring.main.web-application-type=reactive}, see the {@code netty} profile).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebSocketConfig implements WebFluxConfigurer {
+
+    private final ProtocolProperties protocolProperties;
+
+    public ReactiveWebSocketConfig(ProtocolProperties protocolProperties) {
+        this.protocolProperties = protocolProperties;
+    }
+
+    /**
+     * Tomcat stays on the classpath for the servlet transport and would otherwise be picked as the
+     * reactive server too.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public HandlerMapping gameWebSocketMapping(GameWebSocketHandler gameHandler, OutboundProperties outboundProperties,
+                                               GameMetrics metrics) {
+        ReactiveGameHandler handler = new ReactiveGameHandler(gameHandler, outboundProperties, metrics);
+        return new SimpleUrlHandlerMapping(Map.of("/ws/game", handler), Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public WebSocketService getWebSocketService() {
+        return new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy(
+                () -> WebsocketServerSpec.builder().compress(protocolProperties.isCompression())));
+    }
+}
@@ -0,0 +1,45 @@
+package com.test.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "game.tables")
+public class TableProperties {
+    /** Number of shard schedulers tables are pinned to; 0 means one per available processor. */
+    private int shards = 0;
+    /** Threads settling closed rounds, shared by all tables; 0 means one per available processor. */
+    private int settlementThreads = 0;
+    /** Upper bound on tables open on this node, including the default table. */
+    private int maxTables = 1000;
+    /** Ids of the tables clients can join, besides the default table. */
+    private List<String> ids = new ArrayList<>();
+    /**
+     * Whether clients can also join tables under ids not listed in {@code ids}, opening them up to
+     * {@code max-tables}. Tables are never closed, so each such table keeps its round clock running.
+     */
+    private boolean openOnJoin = false;
+    /** Length of a betting round. */
+    private Duration roundInterval = Duration.ofSeconds(10);
+    /** Number of settled rounds kept per table for HISTORY queries. */
+    private int historySize = 1000;
+    /** Lowest number bets can be placed on. */
+    private int minNumber = 1;
+    /** Highest number bets can be placed on; at most 255 for binary clients. */
+    private int maxNumber = 10;
+    /** Smallest stake accepted, in units with up to two decimals. */
+    private BigDecimal minBet = new BigDecimal("0.01");
+    /** Largest stake accepted, in units with up to two decimals. */
+    private BigDecimal maxBet = BigDecimal.valueOf(1_000_000);
+    /** Multiplier paid on a winning bet. */
+    private double payoutMultiplier = 9.9;
+    /** Per-number overrides of the payout multiplier, e.g. {@code payout-multipliers.7=12.0}. */
+    private Map<Integer, Double> payoutMultipliers = new HashMap<>();
+}
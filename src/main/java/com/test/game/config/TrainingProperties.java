@@ -0,0 +1,19 @@
+package com.test.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "game.training")
+public class TrainingProperties {
+    /** Whether to run the training workload once the server is up and then exit; see the training profile. */
+    private boolean enabled = false;
+    /** Simulated players connected over loopback. */
+    private int players = 32;
+    /** Rounds every player bets in before the run ends. */
+    private int rounds = 50;
+    /** Upper bound on the whole run; the application exits with an error if it is exceeded. */
+    private Duration timeout = Duration.ofMinutes(2);
+}
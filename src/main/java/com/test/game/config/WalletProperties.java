@@ -0,0 +1,13 @@
+package com.test.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+@Data
+@ConfigurationProperties(prefix = "game.wallet")
+public class WalletProperties {
+    /** Balance new player accounts start with, in units with up to two decimals. */
+    private BigDecimal initialBalance = BigDecimal.valueOf(1000);
+}
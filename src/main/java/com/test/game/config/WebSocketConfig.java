@@ -1,22 +1,65 @@
 package com.test.game.config;
 
 import com.test.game.GameWebSocketHandler;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.outbound.OutboundSessionHandlerDecorator;
+import com.test.game.protocol.BinaryProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
     private final GameWebSocketHandler gameHandler;
+    private final OutboundProperties outboundProperties;
+    private final ExecutorService outboundExecutor;
+    private final GameMetrics metrics;
+    private final ProtocolProperties protocolProperties;
 
-    public WebSocketConfig(GameWebSocketHandler gameHandler) {
+    public WebSocketConfig(GameWebSocketHandler gameHandler, OutboundProperties outboundProperties,
+                           ExecutorService outboundExecutor, GameMetrics metrics,
+                           ProtocolProperties protocolProperties) {
         this.gameHandler = gameHandler;
+        this.outboundProperties = outboundProperties;
+        this.outboundExecutor = outboundExecutor;
+        this.metrics = metrics;
+        this.protocolProperties = protocolProperties;
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(gameHandler, "/ws/game").setAllowedOrigins("*");
+        DefaultHandshakeHandler handshakeHandler = protocolProperties.isCompression()
+                ? new DefaultHandshakeHandler() : new UncompressedHandshakeHandler();
+        handshakeHandler.setSupportedProtocols(BinaryProtocol.SUBPROTOCOL);
+
+        registry.addHandler(new OutboundSessionHandlerDecorator(gameHandler, outboundProperties, outboundExecutor, metrics), "/ws/game")
+                .setHandshakeHandler(handshakeHandler)
+                .setAllowedOrigins("*");
+    }
+
+    /**
+     * Declines permessage-deflate, which the container otherwise accepts whenever a client asks.
+     */
+    private static final class UncompressedHandshakeHandler extends DefaultHandshakeHandler {
+        @Override
+        protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                     List<WebSocketExtension> requestedExtensions,
+                                                                     List<WebSocketExtension> supportedExtensions) {
+            return super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions).stream()
+                    .filter(extension -> !PERMESSAGE_DEFLATE.equals(extension.getName()))
+                    .toList();
+        }
     }
 }
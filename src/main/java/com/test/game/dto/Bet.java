@@ -1,17 +1,40 @@
 package com.test.game.dto;
 
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.test.game.money.Money;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 
 @Data
-@AllArgsConstructor
-@RequiredArgsConstructor
+@NoArgsConstructor
 public class Bet {
     private String nickname;
     private int number;
-    private double amount;
+    /** Stake in minor units; units with up to two decimals on the wire. */
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long amount;
+    /** Table-local id of the player the bet settles to, resolved at intake; not part of the wire format. */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private int playerId;
+    /** Round the bet was accepted into, stamped by the ledger; not part of the wire format. */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private long round;
 
+    public Bet(String nickname, int number, long amount) {
+        this(nickname, number, amount, 0);
+    }
 
+    public Bet(String nickname, int number, long amount, int playerId) {
+        this.nickname = nickname;
+        this.number = number;
+        this.amount = amount;
+        this.playerId = playerId;
+    }
 }
@@ -0,0 +1,20 @@
+package com.test.game.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.test.game.money.Money;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Outcome of a single bet within a player's round result.
+ */
+@Data
+@RequiredArgsConstructor
+public class BetResult {
+    private final int number;
+    @JsonSerialize(using = Money.Serializer.class)
+    private final long amount;
+    /** Amount paid out for the bet; zero for a losing bet. */
+    @JsonSerialize(using = Money.Serializer.class)
+    private final long payout;
+}
@@ -1,6 +1,9 @@
 package com.test.game.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.test.game.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +14,9 @@ import org.springframework.web.socket.WebSocketSession;
 @RequiredArgsConstructor
 public class Player {
     private String nickname;
-    private double amount;
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long amount;
     @JsonIgnore
     private WebSocketSession session;
 
@@ -0,0 +1,33 @@
+package com.test.game.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.test.game.money.Money;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything one player staked and won in a round, aggregated during settlement so the player gets
+ * a single result together with the round summary.
+ */
+@Data
+public class PlayerResult {
+    @JsonSerialize(using = Money.Serializer.class)
+    private long stake;
+    @JsonSerialize(using = Money.Serializer.class)
+    private long winnings;
+    private final List<BetResult> bets = new ArrayList<>(1);
+
+    public void add(Bet bet, long payout) {
+        stake += bet.getAmount();
+        winnings += payout;
+        bets.add(new BetResult(bet.getNumber(), bet.getAmount(), payout));
+    }
+
+    /** Winnings less stake; negative when the player lost more than they won. */
+    @JsonSerialize(using = Money.Serializer.class)
+    public long getNet() {
+        return winnings - stake;
+    }
+}
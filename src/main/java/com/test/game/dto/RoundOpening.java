@@ -0,0 +1,17 @@
+package com.test.game.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Announces a round that has just opened for bets, together with the commitment to the seed its
+ * winning number will be drawn from. Only sent in commit-reveal mode.
+ */
+@Data
+@RequiredArgsConstructor
+public class RoundOpening {
+    private final String type = "roundOpen";
+    private final long round;
+    /** Hash of the round's seed, revealed with the round's result. */
+    private final String commitment;
+}
@@ -1,14 +1,37 @@
 package com.test.game.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.test.game.money.Money;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 
+/**
+ * Round result broadcast to every player of the table. It stays the same size however many players
+ * won: aggregates plus the {@value #TOP_WINNERS} biggest winners. The full list is paged with the
+ * {@code ROUND_WINNERS} command.
+ */
 @Data
 @RequiredArgsConstructor
 public class RoundResultResponse {
+
+    public static final int TOP_WINNERS = 10;
+
     private final String type = "roundResult";
+    private final long round;
     private final int winningNumber;
-    private final List<Player> winners;
+    private final int winnerCount;
+    @JsonSerialize(using = Money.Serializer.class)
+    private final long totalPayout;
+    /** Biggest winners, highest amount first. */
+    private final List<Player> topWinners;
+    private final long timestamp;
+    /** Seed the winning number was derived from; only set in commit-reveal mode. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String seed;
+    /** Hash of the seed of the round that has just opened; only set in commit-reveal mode. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String nextCommitment;
 }
@@ -0,0 +1,28 @@
+package com.test.game.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.test.game.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@RequiredArgsConstructor
+public class RoundSummary {
+    private long round;
+    private int winningNumber;
+    private long timestamp;
+    private long betCount;
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long totalStake;
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long totalPayout;
+    private int winnerCount;
+    private List<Player> topWinners;
+}
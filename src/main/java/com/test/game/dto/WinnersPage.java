@@ -0,0 +1,18 @@
+package com.test.game.dto;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Data
+@RequiredArgsConstructor
+public class WinnersPage {
+    private final String type = "roundWinners";
+    private final long round;
+    private final int page;
+    private final int pageSize;
+    /** Winners of the round across all pages. */
+    private final int total;
+    private final List<Player> winners;
+}
@@ -1,7 +0,0 @@
-package com.test.game.exception;
-
-public class BetException extends Exception {
-    public BetException(String message) {
-        super(message);
-    }
-}
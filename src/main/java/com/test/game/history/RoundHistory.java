@@ -0,0 +1,185 @@
+package com.test.game.history;
+
+import com.test.game.dto.Player;
+import com.test.game.dto.RoundSummary;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fixed-capacity ring of the most recent round summaries, kept in a direct buffer.
+ * <p>
+ * Each slot is guarded by a sequence number in the style of a seqlock: the single writer (the
+ * thread resolving the table) makes it odd while it rewrites the slot and even again afterwards,
+ * and readers retry or skip a slot whose sequence moved while they copied it. Recording a round
+ * therefore allocates nothing, and queries never block the resolver.
+ */
+public class RoundHistory {
+
+    public static final int TOP_WINNERS = 3;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int MAX_READ_ATTEMPTS = 4;
+
+    private static final int SEQUENCE = 0;
+    private static final int ROUND = 8;
+    private static final int TIMESTAMP = 16;
+    private static final int BET_COUNT = 24;
+    private static final int TOTAL_STAKE = 32;
+    private static final int TOTAL_PAYOUT = 40;
+    private static final int WINNING_NUMBER = 48;
+    private static final int WINNER_COUNT = 52;
+    private static final int TOP_COUNT = 56;
+    private static final int WINNERS = 64;
+    private static final int NICKNAME_BYTES = 31;
+    private static final int WINNER_SIZE = 1 + NICKNAME_BYTES + Long.BYTES;
+    private static final int SLOT_SIZE = WINNERS + TOP_WINNERS * WINNER_SIZE;
+
+    private final int capacity;
+    private final ByteBuffer slots;
+    private volatile long recorded;
+
+    public RoundHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Records a settled round. Must only be called from the thread resolving the table.
+     *
+     * @param topWinners winners ordered by amount, highest first; only the first {@value #TOP_WINNERS} are kept
+     */
+    public void record(long round, int winningNumber, long timestamp, long betCount, long totalStake,
+                       long totalPayout, int winnerCount, List<Player> topWinners) {
+        long count = recorded;
+        int base = slot(count);
+        long sequence = (long) LONGS.get(slots, base + SEQUENCE);
+        LONGS.setOpaque(slots, base + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+
+        slots.putLong(base + ROUND, round);
+        slots.putLong(base + TIMESTAMP, timestamp);
+        slots.putLong(base + BET_COUNT, betCount);
+        slots.putLong(base + TOTAL_STAKE, totalStake);
+        slots.putLong(base + TOTAL_PAYOUT, totalPayout);
+        slots.putInt(base + WINNING_NUMBER, winningNumber);
+        slots.putInt(base + WINNER_COUNT, winnerCount);
+        int top = Math.min(TOP_WINNERS, topWinners.size());
+        slots.putInt(base + TOP_COUNT, top);
+        for (int i = 0; i < top; i++) {
+            writeWinner(base + WINNERS + i * WINNER_SIZE, topWinners.get(i));
+        }
+
+        LONGS.setRelease(slots, base + SEQUENCE, sequence + 2);
+        recorded = count + 1;
+    }
+
+    /**
+     * Returns up to {@code limit} of the most recent rounds, newest first.
+     */
+    public List<RoundSummary> latest(int limit) {
+        long count = recorded;
+        int size = (int) Math.min(Math.min(limit, capacity), count);
+        List<RoundSummary> rounds = new ArrayList<>(Math.max(size, 0));
+        for (long i = count - 1; i >= count - size; i--) {
+            RoundSummary summary = read(slot(i));
+            if (summary == null || recorded - i > capacity) {
+                break;
+            }
+            rounds.add(summary);
+        }
+        return rounds;
+    }
+
+    private RoundSummary read(int base) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long before = (long) LONGS.getAcquire(slots, base + SEQUENCE);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            RoundSummary summary = new RoundSummary();
+            summary.setRound(slots.getLong(base + ROUND));
+            summary.setTimestamp(slots.getLong(base + TIMESTAMP));
+            summary.setBetCount(slots.getLong(base + BET_COUNT));
+            summary.setTotalStake(slots.getLong(base + TOTAL_STAKE));
+            summary.setTotalPayout(slots.getLong(base + TOTAL_PAYOUT));
+            summary.setWinningNumber(slots.getInt(base + WINNING_NUMBER));
+            summary.setWinnerCount(slots.getInt(base + WINNER_COUNT));
+            int top = Math.min(TOP_WINNERS, Math.max(0, slots.getInt(base + TOP_COUNT)));
+            List<Player> winners = new ArrayList<>(top);
+            for (int i = 0; i < top; i++) {
+                winners.add(readWinner(base + WINNERS + i * WINNER_SIZE));
+            }
+            summary.setTopWinners(winners);
+
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getOpaque(slots, base + SEQUENCE) == before) {
+                return summary;
+            }
+        }
+        return null;
+    }
+
+    private void writeWinner(int offset, Player winner) {
+        slots.put(offset, (byte) writeNickname(offset + 1, winner.getNickname()));
+        slots.putLong(offset + 1 + NICKNAME_BYTES, winner.getAmount());
+    }
+
+    /**
+     * Encodes the nickname as UTF-8 straight into the slot, cut after the last whole code point that
+     * fits in {@value #NICKNAME_BYTES} bytes. Unpaired surrogates are written as {@code '?'}, like
+     * {@link String#getBytes} does.
+     *
+     * @return number of bytes written
+     */
+    private int writeNickname(int offset, String nickname) {
+        int length = 0;
+        for (int i = 0; i < nickname.length(); ) {
+            int codePoint = nickname.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isSurrogate((char) codePoint) && codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                codePoint = '?';
+            }
+            int size = (codePoint < 0x80) ? 1 : (codePoint < 0x800) ? 2 : (codePoint < 0x10000) ? 3 : 4;
+            if (length + size > NICKNAME_BYTES) {
+                break;
+            }
+            int at = offset + length;
+            if (size == 1) {
+                slots.put(at, (byte) codePoint);
+            } else {
+                slots.put(at, (byte) ((0xF0 << (4 - size)) | (codePoint >> (6 * (size - 1)))));
+                for (int k = 1; k < size; k++) {
+                    slots.put(at + k, (byte) (0x80 | ((codePoint >> (6 * (size - 1 - k))) & 0x3F)));
+                }
+            }
+            length += size;
+        }
+        return length;
+    }
+
+    private Player readWinner(int offset) {
+        int length = Math.min(slots.get(offset) & 0xFF, NICKNAME_BYTES);
+        byte[] nickname = new byte[length];
+        slots.get(offset + 1, nickname);
+        return new Player(new String(nickname, UTF_8), slots.getLong(offset + 1 + NICKNAME_BYTES), null);
+    }
+
+    private int slot(long round) {
+        return (int) (round % capacity) * SLOT_SIZE;
+    }
+}
@@ -0,0 +1,53 @@
+package com.test.game.history;
+
+import com.test.game.dto.Player;
+import com.test.game.dto.WinnersPage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Full winner lists of the last few settled rounds of a table, for paged queries. Round results
+ * only carry the top winners, so clients that want everyone fetch the rest from here.
+ * <p>
+ * Each list is kept as a pair of arrays in settlement order, and rounds share a ring indexed by
+ * round number, so writers never block readers.
+ */
+public class WinnerArchive {
+
+    private final AtomicReferenceArray<Entry> rounds;
+
+    public WinnerArchive(int capacity) {
+        this.rounds = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void record(long round, String[] nicknames, long[] amounts) {
+        rounds.set(slot(round), new Entry(round, nicknames, amounts));
+    }
+
+    /**
+     * Returns one page of the winners of the round, or {@code null} if the round is not archived.
+     */
+    public WinnersPage page(long round, int page, int pageSize) {
+        Entry entry = rounds.get(slot(round));
+        if (entry == null || entry.round != round) {
+            return null;
+        }
+        int total = entry.nicknames.length;
+        int from = (int) Math.min(total, (long) page * pageSize);
+        int to = Math.min(total, from + pageSize);
+        List<Player> winners = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            winners.add(new Player(entry.nicknames[i], entry.amounts[i], null));
+        }
+        return new WinnersPage(round, page, pageSize, total, winners);
+    }
+
+    private int slot(long round) {
+        return (int) Math.floorMod(round, (long) rounds.length());
+    }
+
+    private record Entry(long round, String[] nicknames, long[] amounts) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.test.game.intake;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-wide count of bets taken but not yet settled. Tables report bets as they enter their open
+ * round and once that round has been settled, so closed rounds still queued for the settlement stage
+ * count as well; the WebSocket handler sheds new bets while the count is above the high-water
+ * mark, so a flood is turned away at intake instead of making every table's settlement late.
+ */
+public class IntakeGate {
+
+    private final long highWaterMark;
+    private final AtomicLong pending = new AtomicLong();
+
+    /**
+     * @param highWaterMark pending bets above which intake is shed; 0 or less never sheds
+     */
+    public IntakeGate(long highWaterMark) {
+        this.highWaterMark = highWaterMark > 0 ? highWaterMark : Long.MAX_VALUE;
+    }
+
+    public static IntakeGate unbounded() {
+        return new IntakeGate(0);
+    }
+
+    public void added(long bets) {
+        pending.addAndGet(bets);
+    }
+
+    public void settled(long bets) {
+        pending.addAndGet(-bets);
+    }
+
+    public long pending() {
+        return pending.get();
+    }
+
+    public boolean isSaturated() {
+        return pending.get() >= highWaterMark;
+    }
+}
@@ -0,0 +1,10 @@
+package com.test.game.intake;
+
+public enum IntakePolicy {
+    /** Answer the frame with an error and keep the session. */
+    REJECT,
+    /** Ignore the frame without a reply. */
+    DROP,
+    /** Close the session. */
+    DISCONNECT
+}
@@ -0,0 +1,25 @@
+package com.test.game.intake;
+
+import com.test.game.config.IntakeProperties;
+
+/**
+ * Token buckets of one session: one for every frame it sends and one for the bets in them.
+ */
+public final class SessionLimits {
+
+    private final TokenBucket commands;
+    private final TokenBucket bets;
+
+    public SessionLimits(IntakeProperties properties) {
+        this.commands = new TokenBucket(properties.getCommandsPerSecond(), properties.getCommandBurst());
+        this.bets = new TokenBucket(properties.getBetsPerSecond(), properties.getBetBurst());
+    }
+
+    public boolean tryCommand() {
+        return commands.tryTake(1);
+    }
+
+    public boolean tryBets(int count) {
+        return bets.tryTake(count);
+    }
+}
@@ -0,0 +1,41 @@
+package com.test.game.intake;
+
+/**
+ * Token bucket kept as a single timestamp: the time at which the bucket would be full again if
+ * nothing else were taken. Taking {@code n} tokens pushes that time {@code n} refill intervals
+ * further; the take is refused if it would be more than the burst ahead of now.
+ * <p>
+ * Not thread-safe. A bucket belongs to one session, and the container delivers the messages of a
+ * session one at a time.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private long fullAt = Long.MIN_VALUE;
+
+    /**
+     * @param perSecond tokens refilled per second; 0 or less makes the bucket unlimited
+     * @param burst     tokens that can be taken at once from a full bucket
+     */
+    public TokenBucket(double perSecond, int burst) {
+        this.nanosPerToken = perSecond > 0 ? Math.max(1, (long) (1_000_000_000L / perSecond)) : 0;
+        this.burstNanos = nanosPerToken * Math.max(1, burst);
+    }
+
+    public boolean tryTake(int tokens) {
+        return tryTake(tokens, System.nanoTime());
+    }
+
+    public boolean tryTake(int tokens, long now) {
+        if (nanosPerToken == 0) {
+            return true;
+        }
+        long next = Math.max(fullAt, now) + tokens * nanosPerToken;
+        if (next - now > burstNanos) {
+            return false;
+        }
+        fullAt = next;
+        return true;
+    }
+}
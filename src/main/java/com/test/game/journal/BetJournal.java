@@ -0,0 +1,57 @@
+package com.test.game.journal;
+
+import com.test.game.dto.Bet;
+
+import java.util.List;
+
+/**
+ * Durable record of accepted bets and settled rounds, used to put the unsettled bets of an
+ * interrupted round back into play after a restart.
+ */
+public interface BetJournal extends AutoCloseable {
+
+    BetJournal NOOP = new BetJournal() {
+        @Override
+        public void betAccepted(String tableId, long round, Bet bet) {
+        }
+
+        @Override
+        public void betRestored(String tableId, long round, RecoveredBet recovered) {
+        }
+
+        @Override
+        public void roundSettled(String tableId, long round, int winningNumber) {
+        }
+    };
+
+    /**
+     * Records a bet accepted into the given round. Called while the bet is still being added, before
+     * the round can close, so the bet is always journaled ahead of its round's settlement. Must not
+     * block on disk.
+     */
+    void betAccepted(String tableId, long round, Bet bet);
+
+    /**
+     * Records a recovered bet that has been put back into the given round, keeping its original id.
+     */
+    void betRestored(String tableId, long round, RecoveredBet recovered);
+
+    void roundSettled(String tableId, long round, int winningNumber);
+
+    /**
+     * Returns the bets found in the journal of a previous run whose round was never settled.
+     */
+    default List<RecoveredBet> recover() {
+        return List.of();
+    }
+
+    /**
+     * Called once recovered bets have been restored; the previous run's records are no longer needed.
+     */
+    default void retireRecovered() {
+    }
+
+    @Override
+    default void close() {
+    }
+}
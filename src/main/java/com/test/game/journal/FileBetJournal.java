@@ -0,0 +1,396 @@
+package com.test.game.journal;
+
+import com.test.game.dto.Bet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append-only journal on segment files, written with group commit.
+ * <p>
+ * Callers only enqueue records; a single writer thread encodes everything queued since the last
+ * pass into one buffer, writes it to the current segment and forces it once per commit interval.
+ * Every record is framed as {@code [length: i32][payload][crc32: i32]}, so a torn tail left by a
+ * crash is detected and ignored on recovery:
+ * <pre>
+ * BET      [3][run: i64][round: i64][table: u8 + UTF-8][originRun: i64][originSeq: i64]
+ *          [number: u8][amount: i64 minor units][nickname: u16 + UTF-8]
+ * SETTLED  [2][run: i64][round: i64][table: u8 + UTF-8][winningNumber: u8]
+ * </pre>
+ * Type 1 is the earlier BET layout with a {@code f64} amount in units; it is still read on
+ * recovery.
+ * Rounds are keyed by run, table and round, since round numbers restart with every run. Segments
+ * roll over at a size limit and are deleted once every round written to them has been settled.
+ */
+public class FileBetJournal implements BetJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(FileBetJournal.class);
+
+    private static final byte SETTLED = 2;
+    private static final byte BET = 3;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Path directory;
+    private final long commitIntervalNanos;
+    private final long segmentSize;
+    private final long run;
+    private final List<Path> previousSegments;
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private int segmentIndex;
+
+    public FileBetJournal(Path directory, Duration commitInterval, long segmentSize) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.commitIntervalNanos = commitInterval.toNanos();
+        this.segmentSize = segmentSize;
+        this.previousSegments = listSegments(directory);
+        this.run = Math.max(System.currentTimeMillis(), lastRun(previousSegments) + 1);
+        roll();
+        this.writer = new Thread(this::writeLoop, "bet-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void betAccepted(String tableId, long round, Bet bet) {
+        queue.add(new BetEntry(tableId, round, bet, run, sequence.incrementAndGet()));
+    }
+
+    @Override
+    public void betRestored(String tableId, long round, RecoveredBet recovered) {
+        queue.add(new BetEntry(tableId, round, recovered.bet(), recovered.originRun(), recovered.originSeq()));
+    }
+
+    @Override
+    public void roundSettled(String tableId, long round, int winningNumber) {
+        queue.add(new SettledEntry(tableId, round, winningNumber));
+    }
+
+    /**
+     * Reads the segments left by previous runs and returns the bets whose round was never settled.
+     * A bet restored in an earlier recovery keeps its original id, so it is returned at most once
+     * even if that recovery was itself interrupted.
+     */
+    @Override
+    public List<RecoveredBet> recover() {
+        Map<BetId, BetRecord> bets = new LinkedHashMap<>();
+        Set<RoundKey> settled = new HashSet<>();
+        for (Path segment : previousSegments) {
+            read(segment, bets, settled);
+        }
+        List<RecoveredBet> recovered = new ArrayList<>();
+        for (Map.Entry<BetId, BetRecord> entry : bets.entrySet()) {
+            BetRecord record = entry.getValue();
+            if (!settled.contains(record.round())) {
+                BetId id = entry.getKey();
+                recovered.add(new RecoveredBet(record.round().tableId(), record.bet(), id.run(), id.seq()));
+            }
+        }
+        return recovered;
+    }
+
+    @Override
+    public void retireRecovered() {
+        flush();
+        for (Path segment : previousSegments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.error("Failed to delete journal segment {}: ", segment, e);
+            }
+        }
+        previousSegments.clear();
+    }
+
+    /**
+     * Blocks until everything journaled so far has been forced to disk.
+     */
+    public void flush() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new FlushEntry(done));
+        LockSupport.unpark(writer);
+        try {
+            done.get(FLUSH_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            throw new IllegalStateException("Journal flush failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(FLUSH_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<CompletableFuture<Void>> barriers = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                boolean written = false;
+                Entry entry;
+                while ((entry = queue.poll()) != null) {
+                    switch (entry) {
+                        case BetEntry bet -> encodeBet(bet);
+                        case SettledEntry settled -> encodeSettled(settled);
+                        case FlushEntry flush -> barriers.add(flush.done());
+                    }
+                    written = true;
+                }
+                if (written) {
+                    commit();
+                    barriers.forEach(done -> done.complete(null));
+                    barriers.clear();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to write bet journal: ", e);
+                barriers.forEach(done -> done.completeExceptionally(e));
+                barriers.clear();
+            }
+            if (running) {
+                LockSupport.parkNanos(commitIntervalNanos);
+            }
+        }
+        closeSegments();
+    }
+
+    private void encodeBet(BetEntry entry) throws IOException {
+        byte[] table = entry.tableId().getBytes(UTF_8);
+        byte[] nickname = entry.bet().getNickname().getBytes(UTF_8);
+        if (table.length > 0xFF || nickname.length > 0xFFFF) {
+            log.error("Not journaling bet of {} at table {}: nickname or table id too long",
+                    entry.bet().getNickname(), entry.tableId());
+            return;
+        }
+        int length = 1 + 2 * Long.BYTES + 1 + table.length + 2 * Long.BYTES + 1 + Long.BYTES + 2 + nickname.length;
+        ByteBuffer record = begin(length);
+        record.put(BET).putLong(run).putLong(entry.round()).put((byte) table.length).put(table)
+                .putLong(entry.originRun()).putLong(entry.originSeq())
+                .put((byte) entry.bet().getNumber()).putLong(entry.bet().getAmount())
+                .putShort((short) nickname.length).put(nickname);
+        end(length);
+        segments.getLast().openRounds.add(new RoundKey(run, entry.tableId(), entry.round()));
+    }
+
+    private void encodeSettled(SettledEntry entry) throws IOException {
+        byte[] table = entry.tableId().getBytes(UTF_8);
+        int length = 1 + 2 * Long.BYTES + 1 + table.length + 1;
+        ByteBuffer record = begin(length);
+        record.put(SETTLED).putLong(run).putLong(entry.round()).put((byte) table.length).put(table)
+                .put((byte) entry.winningNumber());
+        end(length);
+
+        RoundKey key = new RoundKey(run, entry.tableId(), entry.round());
+        segments.forEach(segment -> segment.openRounds.remove(key));
+    }
+
+    private ByteBuffer begin(int length) throws IOException {
+        if (buffer.remaining() < Integer.BYTES + length + Integer.BYTES) {
+            write();
+        }
+        buffer.putInt(length);
+        return buffer;
+    }
+
+    private void end(int length) {
+        crc.reset();
+        crc.update(buffer.slice(buffer.position() - length, length));
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Writes out the buffer. The buffer is cleared even if the write fails, so records encoded
+     * afterwards start on a clean buffer; the failed ones are reported through the pending flushes.
+     */
+    private void write() throws IOException {
+        buffer.flip();
+        Segment current = segments.getLast();
+        try {
+            while (buffer.hasRemaining()) {
+                current.size += current.channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void commit() throws IOException {
+        write();
+        segments.getLast().channel.force(false);
+        if (segments.getLast().size >= segmentSize) {
+            roll();
+        }
+        retireSettledSegments();
+    }
+
+    private void roll() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d-%06d%s", PREFIX, run, segmentIndex++, SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.addLast(new Segment(path, channel));
+    }
+
+    private void retireSettledSegments() {
+        Iterator<Segment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment == segments.getLast() || !segment.openRounds.isEmpty()) {
+                continue;
+            }
+            iterator.remove();
+            try {
+                segment.channel.close();
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.error("Failed to delete journal segment {}: ", segment.path, e);
+            }
+        }
+    }
+
+    private void closeSegments() {
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.error("Failed to close journal segment {}: ", segment.path, e);
+            }
+        }
+    }
+
+    private static void read(Path path, Map<BetId, BetRecord> bets, Set<RoundKey> settled) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            while (segment.remaining() >= Integer.BYTES) {
+                int length = segment.getInt();
+                if (length <= 0 || segment.remaining() < length + Integer.BYTES) {
+                    log.warn("Ignoring torn record at the end of journal segment {}", path);
+                    return;
+                }
+                ByteBuffer record = segment.slice(segment.position(), length);
+                crc.reset();
+                crc.update(record.duplicate());
+                segment.position(segment.position() + length);
+                if ((int) crc.getValue() != segment.getInt()) {
+                    log.warn("Ignoring corrupt record at the end of journal segment {}", path);
+                    return;
+                }
+                byte type = record.get();
+                long run = record.getLong();
+                long roundId = record.getLong();
+                RoundKey round = new RoundKey(run, readString(record, record.get() & 0xFF), roundId);
+                if (type == BET) {
+                    BetId id = new BetId(record.getLong(), record.getLong());
+                    int number = record.get() & 0xFF;
+                    long amount = record.getLong();
+                    String nickname = readString(record, record.getShort() & 0xFFFF);
+                    bets.put(id, new BetRecord(round, new Bet(nickname, number, amount)));
+                } else if (type == SETTLED) {
+                    settled.add(round);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read journal segment " + path, e);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+    }
+
+    private static long lastRun(List<Path> segments) {
+        long last = 0;
+        for (Path segment : segments) {
+            String name = segment.getFileName().toString();
+            last = Math.max(last, Long.parseLong(name.substring(PREFIX.length(), name.indexOf('-', PREFIX.length()))));
+        }
+        return last;
+    }
+
+    private sealed interface Entry permits BetEntry, SettledEntry, FlushEntry {
+    }
+
+    private record BetEntry(String tableId, long round, Bet bet, long originRun, long originSeq) implements Entry {
+    }
+
+    private record SettledEntry(String tableId, long round, int winningNumber) implements Entry {
+    }
+
+    private record FlushEntry(CompletableFuture<Void> done) implements Entry {
+    }
+
+    private record RoundKey(long run, String tableId, long round) {
+    }
+
+    private record BetId(long run, long seq) {
+    }
+
+    private record BetRecord(RoundKey round, Bet bet) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final Set<RoundKey> openRounds = new HashSet<>();
+        private long size;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.test.game.journal;
+
+import com.test.game.dto.Bet;
+
+/**
+ * Unsettled bet read back from the journal, with the id it was first journaled under.
+ */
+public record RecoveredBet(String tableId, Bet bet, long originRun, long originSeq) {
+}
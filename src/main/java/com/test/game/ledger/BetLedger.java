@@ -0,0 +1,200 @@
+package com.test.game.ledger;
+
+import com.test.game.dto.Bet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Double-buffered intake for the bets of the open round.
+ * <p>
+ * Intake threads append to the open epoch without locking. The resolver swaps in a fresh epoch,
+ * seals the old one and waits only for appends that were already in flight, so bets placed while
+ * a round settles land in the next round instead of being cleared.
+ * <p>
+ * Every bet is stamped with the id of the epoch it lands in, and bucketed by number with running
+ * stake totals per bucket, so settlement only has to walk the winning bucket for payouts.
+ */
+public class BetLedger {
+
+    /**
+     * Notified of every bet while it is still being added, so whatever it records about the bet
+     * happens before the epoch the bet landed in can be sealed.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        Listener NONE = (epoch, bet) -> {
+        };
+
+        void accepted(long epoch, Bet bet);
+    }
+
+    private final int minNumber;
+    private final int maxNumber;
+    private final AtomicReference<Epoch> open;
+
+    public BetLedger() {
+        this(1, 10);
+    }
+
+    public BetLedger(int minNumber, int maxNumber) {
+        if (minNumber > maxNumber) {
+            throw new IllegalArgumentException("minNumber must not be greater than maxNumber");
+        }
+        this.minNumber = minNumber;
+        this.maxNumber = maxNumber;
+        this.open = new AtomicReference<>(new Epoch(1, maxNumber - minNumber + 1));
+    }
+
+    /**
+     * Appends the bet to the bucket of its number in the open epoch.
+     *
+     * @return id of the epoch the bet was accepted into
+     */
+    public long add(Bet bet) {
+        return add(bet, Listener.NONE);
+    }
+
+    /**
+     * Like {@link #add(Bet)}, notifying the listener before the epoch can be sealed.
+     */
+    public long add(Bet bet, Listener listener) {
+        int bucket = bucketOf(bet.getNumber());
+        while (true) {
+            Epoch epoch = open.get();
+            if (epoch.tryAdd(bucket, bet, listener)) {
+                return epoch.id;
+            }
+        }
+    }
+
+    /**
+     * Appends all bets to the open epoch in one ledger operation, so a batch never straddles two
+     * rounds.
+     *
+     * @return id of the epoch the bets were accepted into
+     */
+    public long addAll(List<Bet> bets) {
+        return addAll(bets, Listener.NONE);
+    }
+
+    /**
+     * Like {@link #addAll(List)}, notifying the listener of every bet before the epoch can be sealed.
+     */
+    public long addAll(List<Bet> bets, Listener listener) {
+        int[] buckets = new int[bets.size()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = bucketOf(bets.get(i).getNumber());
+        }
+        while (true) {
+            Epoch epoch = open.get();
+            if (epoch.tryAddAll(buckets, bets, listener)) {
+                return epoch.id;
+            }
+        }
+    }
+
+    /**
+     * Closes the open epoch and returns its bets. Must only be called from the resolving thread.
+     */
+    public SealedRound seal() {
+        Epoch sealed = open.get();
+        open.set(new Epoch(sealed.id + 1, sealed.buckets.length));
+        long closedAt = System.currentTimeMillis();
+        sealed.seal();
+
+        List<List<Bet>> bets = new ArrayList<>(sealed.buckets.length);
+        long[] counts = new long[sealed.buckets.length];
+        long[] stakes = new long[sealed.buckets.length];
+        for (int i = 0; i < sealed.buckets.length; i++) {
+            Bucket bucket = sealed.buckets[i];
+            bets.add(new ArrayList<>(bucket.bets));
+            counts[i] = bucket.count.sum();
+            stakes[i] = bucket.stake.sum();
+        }
+        return new SealedRound(sealed.id, closedAt, minNumber, bets, counts, stakes);
+    }
+
+    public long openEpoch() {
+        return open.get().id;
+    }
+
+    private int bucketOf(int number) {
+        if (number < minNumber || number > maxNumber) {
+            throw new IllegalArgumentException("Number out of range: " + number);
+        }
+        return number - minNumber;
+    }
+
+    private static final class Bucket {
+        private final Queue<Bet> bets = new ConcurrentLinkedQueue<>();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder stake = new LongAdder();
+    }
+
+    private static final class Epoch {
+        private final long id;
+        private final Bucket[] buckets;
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean sealed;
+
+        private Epoch(long id, int size) {
+            this.id = id;
+            this.buckets = new Bucket[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        private boolean tryAdd(int index, Bet bet, Listener listener) {
+            writers.incrementAndGet();
+            try {
+                if (sealed) {
+                    return false;
+                }
+                append(index, bet);
+                listener.accepted(id, bet);
+                return true;
+            } finally {
+                writers.decrementAndGet();
+            }
+        }
+
+        private boolean tryAddAll(int[] indexes, List<Bet> bets, Listener listener) {
+            writers.incrementAndGet();
+            try {
+                if (sealed) {
+                    return false;
+                }
+                for (int i = 0; i < indexes.length; i++) {
+                    append(indexes[i], bets.get(i));
+                    listener.accepted(id, bets.get(i));
+                }
+                return true;
+            } finally {
+                writers.decrementAndGet();
+            }
+        }
+
+        private void append(int index, Bet bet) {
+            bet.setRound(id);
+            Bucket bucket = buckets[index];
+            bucket.bets.add(bet);
+            bucket.count.increment();
+            bucket.stake.add(bet.getAmount());
+        }
+
+        private void seal() {
+            sealed = true;
+            while (writers.get() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.game.ledger;
+
+/**
+ * Lifecycle of a round. Rounds of one table move through the phases in order, and round N can be
+ * settling while round N + 1 is already open.
+ */
+public enum RoundPhase {
+    /** Taking bets. */
+    OPEN,
+    /** Sealed at the round boundary; no more bets, waiting for the settlement stage. */
+    CLOSED,
+    /** Outcome drawn, payouts and results being computed and sent. */
+    SETTLING,
+    /** Results sent and recorded in the history. */
+    PUBLISHED
+}
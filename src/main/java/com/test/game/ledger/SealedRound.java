@@ -0,0 +1,77 @@
+package com.test.game.ledger;
+
+import com.test.game.dto.Bet;
+
+import java.util.List;
+
+/**
+ * Immutable view of the bets of a closed epoch, indexed by the number they were placed on.
+ */
+public class SealedRound {
+
+    private final long epoch;
+    private final long closedAt;
+    private final int minNumber;
+    private final List<List<Bet>> bets;
+    private final long[] counts;
+    private final long[] stakes;
+
+    SealedRound(long epoch, long closedAt, int minNumber, List<List<Bet>> bets, long[] counts, long[] stakes) {
+        this.epoch = epoch;
+        this.closedAt = closedAt;
+        this.minNumber = minNumber;
+        this.bets = bets;
+        this.counts = counts;
+        this.stakes = stakes;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Time the epoch was sealed, in milliseconds since the Unix epoch.
+     */
+    public long closedAt() {
+        return closedAt;
+    }
+
+    public int minNumber() {
+        return minNumber;
+    }
+
+    public int maxNumber() {
+        return minNumber + bets.size() - 1;
+    }
+
+    public List<Bet> bets(int number) {
+        return bets.get(number - minNumber);
+    }
+
+    public long count(int number) {
+        return counts[number - minNumber];
+    }
+
+    /**
+     * Total stake on the number, in minor units.
+     */
+    public long stake(int number) {
+        return stakes[number - minNumber];
+    }
+
+    public long betCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long totalStake() {
+        long total = 0;
+        for (long stake : stakes) {
+            total += stake;
+        }
+        return total;
+    }
+}
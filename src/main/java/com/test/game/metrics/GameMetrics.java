@@ -0,0 +1,128 @@
+package com.test.game.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the game server, handed out per table through {@link #table}. Only the bet
+ * counter is tagged with the table; the round histograms are node-wide, since a percentile
+ * histogram per table would multiply the series by the number of tables the node ever opened.
+ */
+public class GameMetrics {
+
+    /**
+     * Metrics backed by a registry without children, so every meter is a no-op.
+     */
+    public static final GameMetrics NOOP = new GameMetrics(new CompositeMeterRegistry());
+
+    private final MeterRegistry registry;
+    private final Map<String, TableMetrics> tables = new ConcurrentHashMap<>();
+    private final Timer sendLatency;
+    private final Counter droppedSends;
+    private final Counter failedSends;
+    private final Counter rateLimited;
+    private final Counter shed;
+    private final DistributionSummary betsPerRound;
+    private final Timer settlement;
+    private final Timer drift;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.sendLatency = Timer.builder("game.outbound.send")
+                .description("Time to write one message to a client connection")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.droppedSends = Counter.builder("game.outbound.dropped")
+                .description("Messages discarded because a session was full, slow or closed")
+                .register(registry);
+        this.failedSends = Counter.builder("game.outbound.failed")
+                .description("Messages whose write to the client failed")
+                .register(registry);
+        this.rateLimited = Counter.builder("game.intake.limited")
+                .description("Frames refused by session rate limits or load shedding")
+                .tag("reason", "rate")
+                .register(registry);
+        this.shed = Counter.builder("game.intake.limited")
+                .description("Frames refused by session rate limits or load shedding")
+                .tag("reason", "busy")
+                .register(registry);
+        this.betsPerRound = DistributionSummary.builder("game.round.bets")
+                .description("Bets settled per round")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.settlement = Timer.builder("game.round.settlement")
+                .description("Time to settle a round and hand its results to the outbound queues")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.drift = Timer.builder("game.round.drift")
+                .description("Delay between the scheduled round tick and the start of its resolution")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public TableMetrics table(String tableId) {
+        return tables.computeIfAbsent(tableId, id -> new TableMetrics(this, registry, id));
+    }
+
+    DistributionSummary betsPerRound() {
+        return betsPerRound;
+    }
+
+    Timer settlement() {
+        return settlement;
+    }
+
+    Timer drift() {
+        return drift;
+    }
+
+    /**
+     * Registers gauges for the number of open sessions and the messages queued for them.
+     */
+    public void bindSessions(Supplier<Number> activeSessions, Supplier<Number> queuedMessages) {
+        Gauge.builder("game.sessions.active", activeSessions)
+                .description("Open client sessions")
+                .register(registry);
+        Gauge.builder("game.outbound.queued", queuedMessages)
+                .description("Messages waiting in outbound session queues")
+                .register(registry);
+    }
+
+    /**
+     * Registers a gauge for the bets taken but not yet settled across all tables, counting open
+     * rounds and closed rounds waiting for the settlement stage alike.
+     */
+    public void bindIntake(Supplier<Number> pendingBets) {
+        Gauge.builder("game.intake.pending", pendingBets)
+                .description("Bets in open rounds and in closed rounds awaiting settlement")
+                .register(registry);
+    }
+
+    public void intakeRateLimited() {
+        rateLimited.increment();
+    }
+
+    public void intakeShed() {
+        shed.increment();
+    }
+
+    public Timer sendLatency() {
+        return sendLatency;
+    }
+
+    public void sendDropped() {
+        droppedSends.increment();
+    }
+
+    public void sendFailed() {
+        failedSends.increment();
+    }
+}
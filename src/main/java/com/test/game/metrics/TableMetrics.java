@@ -0,0 +1,52 @@
+package com.test.game.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intake and settlement meters of a single table. The bet counter is tagged with {@code table}; the
+ * round histograms are shared by all tables of the node.
+ */
+public class TableMetrics {
+
+    private final GameMetrics node;
+    private final Counter bets;
+    private final DistributionSummary betsPerRound;
+    private final Timer settlement;
+    private final Timer drift;
+
+    TableMetrics(GameMetrics node, MeterRegistry registry, String tableId) {
+        this.node = node;
+        this.bets = Counter.builder("game.bets")
+                .description("Bets accepted into a round")
+                .tag("table", tableId)
+                .register(registry);
+        this.betsPerRound = node.betsPerRound();
+        this.settlement = node.settlement();
+        this.drift = node.drift();
+    }
+
+    public void betsAccepted(int count) {
+        bets.increment(count);
+    }
+
+    public void roundSettled(long durationNanos, long betCount) {
+        settlement.record(durationNanos, TimeUnit.NANOSECONDS);
+        betsPerRound.record(betCount);
+    }
+
+    public void tickDrift(long driftNanos) {
+        drift.record(Math.max(driftNanos, 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a send that failed on a session written to directly rather than through an outbound queue.
+     */
+    public void sendFailed() {
+        node.sendFailed();
+    }
+}
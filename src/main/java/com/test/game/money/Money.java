@@ -0,0 +1,74 @@
+package com.test.game.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Money is carried as a {@code long} count of minor units ({@value #MINOR_UNITS} per unit)
+ * everywhere inside the server; decimals only appear at the JSON and text edges.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_UNITS = 100;
+
+    private Money() {
+    }
+
+    public static long ofUnits(long units) {
+        return Math.multiplyExact(units, MINOR_UNITS);
+    }
+
+    /**
+     * Converts a decimal amount of units to minor units.
+     *
+     * @throws ArithmeticException if the amount has more than {@value #SCALE} decimals or overflows
+     */
+    public static long fromDecimal(BigDecimal units) {
+        return units.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Formats minor units as a plain decimal with {@value #SCALE} decimals, e.g. {@code 99000} as
+     * {@code 990.00}.
+     */
+    public static String format(long minorUnits) {
+        return toDecimal(minorUnits).toPlainString();
+    }
+
+    /**
+     * Writes minor units as a JSON decimal number of units.
+     */
+    public static final class Serializer extends JsonSerializer<Long> {
+        @Override
+        public void serialize(Long value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(format(value));
+        }
+    }
+
+    /**
+     * Reads a JSON number of units into minor units, rejecting sub-minor precision.
+     */
+    public static final class Deserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            try {
+                return fromDecimal(p.getDecimalValue());
+            } catch (ArithmeticException e) {
+                return (Long) ctxt.handleWeirdNumberValue(Long.class, p.getNumberValue(),
+                        "amount must be a whole number of minor units");
+            }
+        }
+    }
+}
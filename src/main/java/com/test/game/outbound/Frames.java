@@ -0,0 +1,72 @@
+package com.test.game.outbound;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.game.dto.PlayerResult;
+import com.test.game.dto.RoundResultResponse;
+import org.springframework.web.socket.TextMessage;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Pre-encoded outbound frames.
+ * <p>
+ * {@link TextMessage} is immutable, so a frame built here can be handed to any number of sessions;
+ * fanning a round out to N players only costs a queue entry per player. Players who bet get the
+ * same summary with their own result spliced in, so they still receive one frame per round.
+ */
+public final class Frames {
+
+    private static final byte[] ROUND_OPEN_PREFIX = "ROUND_OPEN: ".getBytes(UTF_8);
+    private static final byte[] WINNERS_PREFIX = "WINNERS: ".getBytes(UTF_8);
+    private static final byte[] RESULT_FIELD = ",\"result\":".getBytes(UTF_8);
+
+    private Frames() {
+    }
+
+    /**
+     * Serializes the round summary once into a frame that is shared by every recipient.
+     */
+    public static TextMessage winners(ObjectMapper objectMapper, RoundResultResponse response) throws JsonProcessingException {
+        return winners(objectMapper.writeValueAsBytes(response));
+    }
+
+    public static TextMessage winners(byte[] summary) {
+        return new TextMessage(concat(WINNERS_PREFIX, summary));
+    }
+
+    /**
+     * @param opening serialized {@link com.test.game.dto.RoundOpening}, shared by all recipients
+     */
+    public static TextMessage roundOpen(byte[] opening) {
+        return new TextMessage(concat(ROUND_OPEN_PREFIX, opening));
+    }
+
+    /**
+     * Round summary with a player's own result added as its {@code result} field.
+     *
+     * @param summary serialized {@link RoundResultResponse}, shared by all recipients
+     * @param result  serialized {@link PlayerResult} of the recipient
+     */
+    public static TextMessage winners(byte[] summary, byte[] result) {
+        int body = summary.length - 1;
+        byte[] frame = new byte[WINNERS_PREFIX.length + body + RESULT_FIELD.length + result.length + 1];
+        int offset = 0;
+        System.arraycopy(WINNERS_PREFIX, 0, frame, offset, WINNERS_PREFIX.length);
+        offset += WINNERS_PREFIX.length;
+        System.arraycopy(summary, 0, frame, offset, body);
+        offset += body;
+        System.arraycopy(RESULT_FIELD, 0, frame, offset, RESULT_FIELD.length);
+        offset += RESULT_FIELD.length;
+        System.arraycopy(result, 0, frame, offset, result.length);
+        frame[frame.length - 1] = '}';
+        return new TextMessage(frame);
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] body) {
+        byte[] frame = new byte[prefix.length + body.length];
+        System.arraycopy(prefix, 0, frame, 0, prefix.length);
+        System.arraycopy(body, 0, frame, prefix.length, body.length);
+        return frame;
+    }
+}
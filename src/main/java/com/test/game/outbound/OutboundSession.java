@@ -0,0 +1,178 @@
+package com.test.game.outbound;
+
+import com.test.game.config.OutboundProperties;
+import com.test.game.metrics.GameMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Session wrapper with a bounded outbound queue.
+ * <p>
+ * {@link #sendMessage} only enqueues; a single drain task per session runs on the supplied
+ * executor and writes the queued messages in order, so callers never block on a slow client and
+ * the underlying session never sees concurrent sends. Sessions that exceed the buffer or send time
+ * limit are handled according to the configured {@link OverflowPolicy}.
+ */
+public class OutboundSession extends WebSocketSessionDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundSession.class);
+    private static final long IDLE = 0;
+
+    private final Executor executor;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final GameMetrics metrics;
+
+    private final Queue<WebSocketMessage<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long sendStartNanos = IDLE;
+
+    public OutboundSession(WebSocketSession delegate, OutboundProperties properties, Executor executor) {
+        this(delegate, properties, executor, GameMetrics.NOOP);
+    }
+
+    public OutboundSession(WebSocketSession delegate, OutboundProperties properties, Executor executor,
+                           GameMetrics metrics) {
+        super(delegate);
+        this.executor = executor;
+        this.bufferSizeLimit = properties.getBufferSizeLimit();
+        this.sendTimeLimitNanos = properties.getSendTimeLimit().toNanos();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (terminated.get()) {
+            drop();
+            return;
+        }
+        if (isSendTimeLimitExceeded()) {
+            overflow("send time limit exceeded");
+            return;
+        }
+        if (queued.incrementAndGet() > bufferSizeLimit) {
+            queued.decrementAndGet();
+            overflow("buffer size limit exceeded");
+            return;
+        }
+        queue.add(message);
+        scheduleDrain();
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Discards everything still queued, e.g. once the underlying connection has closed.
+     */
+    public void discard() {
+        terminated.set(true);
+        clear();
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long start = sendStartNanos;
+        return start != IDLE && System.nanoTime() - start > sendTimeLimitNanos;
+    }
+
+    private void overflow(String reason) {
+        drop();
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            return;
+        }
+        if (terminated.compareAndSet(false, true)) {
+            log.warn("Disconnecting slow session {}: {}", getId(), reason);
+            clear();
+            executor.execute(this::closeSlowSession);
+        }
+    }
+
+    private void closeSlowSession() {
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.error("Failed to close session: ", e);
+        }
+    }
+
+    private void clear() {
+        while (queue.poll() != null) {
+            queued.decrementAndGet();
+            drop();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            WebSocketMessage<?> message;
+            while (!terminated.get() && (message = queue.poll()) != null) {
+                queued.decrementAndGet();
+                send(message);
+            }
+        } finally {
+            draining.set(false);
+        }
+        if (!terminated.get() && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(WebSocketMessage<?> message) {
+        WebSocketSession delegate = getDelegate();
+        if (!delegate.isOpen()) {
+            drop();
+            return;
+        }
+        long start = System.nanoTime();
+        sendStartNanos = start;
+        try {
+            delegate.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            metrics.sendFailed();
+            log.error("Failed to send message: ", e);
+        } finally {
+            metrics.sendLatency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            sendStartNanos = IDLE;
+        }
+    }
+
+    private void drop() {
+        dropped.increment();
+        metrics.sendDropped();
+    }
+}
@@ -0,0 +1,77 @@
+package com.test.game.outbound;
+
+import com.test.game.config.OutboundProperties;
+import com.test.game.metrics.GameMetrics;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Hands the wrapped handler an {@link OutboundSession} instead of the raw container session, so
+ * every send on the connection goes through the same bounded outbound queue.
+ */
+public class OutboundSessionHandlerDecorator extends WebSocketHandlerDecorator {
+
+    private final Map<String, OutboundSession> sessions = new ConcurrentHashMap<>();
+    private final OutboundProperties properties;
+    private final Executor executor;
+    private final GameMetrics metrics;
+
+    public OutboundSessionHandlerDecorator(WebSocketHandler delegate, OutboundProperties properties, Executor executor) {
+        this(delegate, properties, executor, GameMetrics.NOOP);
+    }
+
+    public OutboundSessionHandlerDecorator(WebSocketHandler delegate, OutboundProperties properties, Executor executor,
+                                           GameMetrics metrics) {
+        super(delegate);
+        this.properties = properties;
+        this.executor = executor;
+        this.metrics = metrics;
+        metrics.bindSessions(sessions::size, this::queuedMessages);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        OutboundSession outbound = new OutboundSession(session, properties, executor, metrics);
+        sessions.put(session.getId(), outbound);
+        super.afterConnectionEstablished(outbound);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        super.handleMessage(outbound(session), message);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        super.handleTransportError(outbound(session), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        OutboundSession outbound = sessions.remove(session.getId());
+        if (outbound != null) {
+            outbound.discard();
+        }
+        super.afterConnectionClosed(outbound != null ? outbound : session, closeStatus);
+    }
+
+    private long queuedMessages() {
+        long queued = 0;
+        for (OutboundSession session : sessions.values()) {
+            queued += session.getQueueDepth();
+        }
+        return queued;
+    }
+
+    private WebSocketSession outbound(WebSocketSession session) {
+        OutboundSession outbound = sessions.get(session.getId());
+        return outbound != null ? outbound : session;
+    }
+}
@@ -0,0 +1,8 @@
+package com.test.game.outbound;
+
+public enum OverflowPolicy {
+    /** Discard the message that does not fit, keep the session. */
+    DROP,
+    /** Close the session and discard everything still queued for it. */
+    DISCONNECT
+}
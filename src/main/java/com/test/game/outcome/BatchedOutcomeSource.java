@@ -0,0 +1,46 @@
+package com.test.game.outcome;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws outcomes in batches ahead of time so settlement only reads the next precomputed number.
+ * A batch is discarded if the requested range changes.
+ */
+public class BatchedOutcomeSource implements OutcomeSource {
+
+    private final RandomGenerator generator;
+    private final int[] batch;
+    private int next;
+    private int minNumber;
+    private int maxNumber = -1;
+
+    public BatchedOutcomeSource(RandomGenerator generator, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.generator = generator;
+        this.batch = new int[batchSize];
+        this.next = batchSize;
+    }
+
+    @Override
+    public Outcome draw(long round, int minNumber, int maxNumber) {
+        if (minNumber != this.minNumber || maxNumber != this.maxNumber) {
+            this.minNumber = minNumber;
+            this.maxNumber = maxNumber;
+            next = batch.length;
+        }
+        if (next == batch.length) {
+            refill();
+        }
+        return Outcome.of(batch[next++]);
+    }
+
+    private void refill() {
+        int bound = maxNumber - minNumber + 1;
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = generator.nextInt(bound) + minNumber;
+        }
+        next = 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.test.game.outcome;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Provably fair outcomes. A random seed is chosen when a round opens and only its SHA-256 hash is
+ * published; the seed is revealed with the result, and the winning number is derived from it as
+ * <pre>
+ *   h = SHA-256(seed + ":" + round)
+ *   winningNumber = minNumber + floorMod(first 8 bytes of h as a signed big-endian long, maxNumber - minNumber + 1)
+ * </pre>
+ * so any client can check both that the seed matches the commitment and that it yields the number.
+ * Safe for concurrent use.
+ */
+public class CommitRevealOutcomeSource implements OutcomeSource {
+
+    private static final int SEED_BYTES = 32;
+
+    private final SecureRandom random;
+    private final Map<Long, String> seeds = new ConcurrentHashMap<>();
+
+    public CommitRevealOutcomeSource() {
+        this(new SecureRandom());
+    }
+
+    public CommitRevealOutcomeSource(SecureRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public String commitment(long round) {
+        return hash(seed(round));
+    }
+
+    @Override
+    public Outcome draw(long round, int minNumber, int maxNumber) {
+        String seed = seed(round);
+        seeds.remove(round);
+        return new Outcome(winningNumber(seed, round, minNumber, maxNumber), seed);
+    }
+
+    public static int winningNumber(String seed, long round, int minNumber, int maxNumber) {
+        byte[] digest = sha256(seed + ":" + round);
+        long value = ByteBuffer.wrap(digest).getLong();
+        return minNumber + (int) Math.floorMod(value, (long) maxNumber - minNumber + 1);
+    }
+
+    public static String hash(String seed) {
+        return HexFormat.of().formatHex(sha256(seed));
+    }
+
+    private String seed(long round) {
+        return seeds.computeIfAbsent(round, r -> {
+            byte[] bytes = new byte[SEED_BYTES];
+            random.nextBytes(bytes);
+            return HexFormat.of().formatHex(bytes);
+        });
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.test.game.outcome;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws outcomes from a {@link RandomGenerator} owned by one table, so tables never contend on a
+ * shared seed.
+ */
+public class GeneratorOutcomeSource implements OutcomeSource {
+
+    private final RandomGenerator generator;
+
+    public GeneratorOutcomeSource(RandomGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public Outcome draw(long round, int minNumber, int maxNumber) {
+        return Outcome.of(generator.nextInt(maxNumber - minNumber + 1) + minNumber);
+    }
+}
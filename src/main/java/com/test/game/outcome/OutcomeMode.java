@@ -0,0 +1,12 @@
+package com.test.game.outcome;
+
+public enum OutcomeMode {
+    /** A {@link java.util.random.RandomGenerator} of the configured algorithm per table. */
+    GENERATOR,
+    /** The {@link java.util.concurrent.ThreadLocalRandom} of the shard thread settling the table. */
+    THREAD_LOCAL,
+    /** Per-table generator drawing outcomes ahead of time in batches. */
+    BATCHED,
+    /** Seed hash published when a round opens, seed revealed with the result. */
+    COMMIT_REVEAL
+}
@@ -0,0 +1,54 @@
+package com.test.game.outcome;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws the winning number of a round.
+ * <p>
+ * Each table owns its source and draws from its settlement stage, one round at a time, so
+ * implementations need not be thread-safe unless stated otherwise.
+ */
+public interface OutcomeSource {
+
+    /**
+     * Draws the winning number of the given round, uniformly from {@code [minNumber, maxNumber]}.
+     */
+    Outcome draw(long round, int minNumber, int maxNumber);
+
+    /**
+     * Returns the commitment to publish when the given round opens, or {@code null} if this source
+     * does not commit to its outcomes in advance.
+     */
+    default String commitment(long round) {
+        return null;
+    }
+
+    /**
+     * Called on the table's thread when the given round stops taking bets, before its outcome is
+     * drawn.
+     *
+     * @param nextCommitment commitment of the round that opens in its place, as returned by
+     *                       {@link #commitment}
+     */
+    default void closed(long round, String nextCommitment) {
+    }
+
+    /**
+     * Source drawing from the {@link ThreadLocalRandom} of whichever thread settles the round.
+     * Safe for concurrent use.
+     */
+    static OutcomeSource threadLocal() {
+        return (round, minNumber, maxNumber) -> Outcome.of(ThreadLocalRandom.current().nextInt(minNumber, maxNumber + 1));
+    }
+
+    /**
+     * Winning number of a round, with the seed it was derived from when the source commits to its
+     * outcomes in advance.
+     */
+    record Outcome(int winningNumber, String seed) {
+
+        public static Outcome of(int winningNumber) {
+            return new Outcome(winningNumber, null);
+        }
+    }
+}
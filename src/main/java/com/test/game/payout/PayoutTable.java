@@ -0,0 +1,110 @@
+package com.test.game.payout;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Numbers a player can bet on and the multiplier paid when the bet number is drawn. Both
+ * {@code RoundManager} and the RTP simulator in the load source set settle through
+ * {@link #payout}, so simulated RTP matches what the game pays out.
+ * <p>
+ * Payouts are computed in fixed point: multipliers are held in {@value #MULTIPLIER_SCALE}ths and
+ * winnings are rounded down to whole minor units.
+ */
+public final class PayoutTable {
+
+    public static final double DEFAULT_MULTIPLIER = 9.9;
+    public static final long MULTIPLIER_SCALE = 10_000;
+
+    private final int minNumber;
+    private final int maxNumber;
+    private final double[] multipliers;
+    private final long[] scaledMultipliers;
+
+    public PayoutTable(int minNumber, int maxNumber, double[] multipliers) {
+        if (minNumber > maxNumber) {
+            throw new IllegalArgumentException("minNumber must not be greater than maxNumber");
+        }
+        if (multipliers.length != maxNumber - minNumber + 1) {
+            throw new IllegalArgumentException("Expected one multiplier per number");
+        }
+        for (double multiplier : multipliers) {
+            if (!(multiplier >= 0)) {
+                throw new IllegalArgumentException("Multipliers must not be negative");
+            }
+        }
+        this.minNumber = minNumber;
+        this.maxNumber = maxNumber;
+        this.multipliers = multipliers.clone();
+        this.scaledMultipliers = new long[multipliers.length];
+        for (int i = 0; i < multipliers.length; i++) {
+            scaledMultipliers[i] = Math.round(multipliers[i] * MULTIPLIER_SCALE);
+        }
+    }
+
+    /**
+     * The game's table: numbers 1 to 10, each paying {@value #DEFAULT_MULTIPLIER}x.
+     */
+    public static PayoutTable standard() {
+        return uniform(1, 10, DEFAULT_MULTIPLIER);
+    }
+
+    public static PayoutTable uniform(int minNumber, int maxNumber, double multiplier) {
+        double[] multipliers = new double[maxNumber - minNumber + 1];
+        Arrays.fill(multipliers, multiplier);
+        return new PayoutTable(minNumber, maxNumber, multipliers);
+    }
+
+    /**
+     * Uniform table with per-number overrides.
+     */
+    public static PayoutTable of(int minNumber, int maxNumber, double multiplier, Map<Integer, Double> overrides) {
+        double[] multipliers = new double[maxNumber - minNumber + 1];
+        Arrays.fill(multipliers, multiplier);
+        overrides.forEach((number, value) -> {
+            if (number < minNumber || number > maxNumber) {
+                throw new IllegalArgumentException("Multiplier override for number outside range: " + number);
+            }
+            multipliers[number - minNumber] = value;
+        });
+        return new PayoutTable(minNumber, maxNumber, multipliers);
+    }
+
+    public int minNumber() {
+        return minNumber;
+    }
+
+    public int maxNumber() {
+        return maxNumber;
+    }
+
+    public int size() {
+        return multipliers.length;
+    }
+
+    public double multiplier(int number) {
+        return multipliers[number - minNumber];
+    }
+
+    /**
+     * Minor units paid for a bet of {@code amount} minor units on {@code betNumber} when
+     * {@code winningNumber} is drawn.
+     */
+    public long payout(int betNumber, long amount, int winningNumber) {
+        if (betNumber != winningNumber) {
+            return 0;
+        }
+        return Math.multiplyExact(amount, scaledMultipliers[winningNumber - minNumber]) / MULTIPLIER_SCALE;
+    }
+
+    /**
+     * Expected return per unit staked for a player betting on a uniformly chosen number.
+     */
+    public double theoreticalRtp() {
+        double sum = 0;
+        for (double multiplier : multipliers) {
+            sum += multiplier;
+        }
+        return sum / ((double) multipliers.length * multipliers.length);
+    }
+}
@@ -0,0 +1,141 @@
+package com.test.game.player;
+
+import com.test.game.wallet.Account;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Players of one table, addressed by dense int ids.
+ * <p>
+ * A nickname is hashed once, when it registers, and gets an id that stays the same for the
+ * lifetime of the table, so bets placed before a reconnect still settle to the player. Everything
+ * after registration indexes a slot array by id; lookups never lock, while registrations serialize
+ * on the registry to grow the array.
+ */
+public class PlayerRegistry {
+
+    /** Id that never belongs to a player; ids start at 1. */
+    public static final int NO_PLAYER = 0;
+    /** Longest nickname a player can register, in chars. */
+    public static final int MAX_NICKNAME_LENGTH = 32;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile Slot[] slots = new Slot[INITIAL_CAPACITY];
+    private volatile int size = 1;
+
+    public static boolean isValidNickname(String nickname) {
+        return nickname != null && !nickname.isBlank() && nickname.length() <= MAX_NICKNAME_LENGTH;
+    }
+
+    /**
+     * Binds the nickname to the session. A nickname whose previous session has disconnected is taken
+     * over by the new one; a nickname another open session holds is not.
+     *
+     * @return the player's id, or {@link #NO_PLAYER} if another open session holds the nickname
+     */
+    public synchronized int register(String nickname, WebSocketSession session, Account account) {
+        Integer existing = ids.get(nickname);
+        if (existing != null) {
+            Slot slot = slots[existing];
+            synchronized (slot) {
+                WebSocketSession current = slot.session;
+                if (current != null && current != session && current.isOpen()) {
+                    return NO_PLAYER;
+                }
+                slot.session = session;
+            }
+            return existing;
+        }
+        int id = size;
+        if (id == slots.length) {
+            Slot[] grown = new Slot[slots.length * 2];
+            System.arraycopy(slots, 0, grown, 0, slots.length);
+            slots = grown;
+        }
+        slots[id] = new Slot(nickname, session, account);
+        size = id + 1;
+        ids.put(nickname, id);
+        return id;
+    }
+
+    /**
+     * Detaches the session from the nickname if it is still the player's current session.
+     */
+    public void unregister(String nickname, WebSocketSession session) {
+        Integer id = ids.get(nickname);
+        if (id != null) {
+            Slot slot = slots[id];
+            synchronized (slot) {
+                if (slot.session == session) {
+                    slot.session = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the id of a nickname that has a connected session, or {@link #NO_PLAYER}.
+     */
+    public int id(String nickname) {
+        Integer id = ids.get(nickname);
+        return (id != null && slots[id].session != null) ? id : NO_PLAYER;
+    }
+
+    /**
+     * Returns the connected session of the player, or {@code null}.
+     */
+    public WebSocketSession session(int id) {
+        Slot[] current = slots;
+        if (id <= NO_PLAYER || id >= current.length) {
+            return null;
+        }
+        Slot slot = current[id];
+        return (slot != null) ? slot.session : null;
+    }
+
+    /**
+     * Returns the account of the player, or {@code null} for an unknown id.
+     */
+    public Account account(int id) {
+        Slot[] current = slots;
+        Slot slot = (id > NO_PLAYER && id < current.length) ? current[id] : null;
+        return (slot != null) ? slot.account : null;
+    }
+
+    public String nickname(int id) {
+        Slot slot = (id > NO_PLAYER && id < slots.length) ? slots[id] : null;
+        return (slot != null) ? slot.nickname : null;
+    }
+
+    /**
+     * Passes every connected session to the action.
+     */
+    public void forEachSession(Consumer<WebSocketSession> action) {
+        Slot[] current = slots;
+        int count = Math.min(size, current.length);
+        for (int id = 1; id < count; id++) {
+            Slot slot = current[id];
+            WebSocketSession session = (slot != null) ? slot.session : null;
+            if (session != null) {
+                action.accept(session);
+            }
+        }
+    }
+
+    private static final class Slot {
+        final String nickname;
+        final Account account;
+        volatile WebSocketSession session;
+
+        Slot(String nickname, WebSocketSession session, Account account) {
+            this.nickname = nickname;
+            this.session = session;
+            this.account = account;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.test.game.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.game.dto.Bet;
+import com.test.game.money.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming parser for the {@code {"nickname":..,"number":..,"amount":..}} payload of a BET command.
+ * <p>
+ * Scans the frame text in place from the given offset, keeping the scan state in a per-thread
+ * cursor, so the only allocations for a well-formed bet are the nickname and the resulting
+ * {@link Bet}. In {@link Mode#STRICT} mode only the canonical layout (fields in order, no
+ * whitespace) is accepted; in {@link Mode#LENIENT} mode whitespace and any field order are
+ * accepted and anything else the scanner does not handle (escapes, exponents, unknown fields)
+ * falls back to Jackson.
+ * <p>
+ * A malformed payload is reported as {@code null} rather than thrown; the caller answers it with
+ * {@link ErrorCode#MALFORMED_BET} before the bet reaches {@link com.test.game.util.BetValidator}.
+ */
+public class BetParser {
+
+    public enum Mode {
+        STRICT,
+        LENIENT
+    }
+
+    private static final int NICKNAME = 0;
+    private static final int NUMBER = 1;
+    private static final int AMOUNT = 2;
+    private static final int MAX_INT_DIGITS = 9;
+    private static final int MAX_DECIMAL_DIGITS = 15;
+    private static final long[] MINOR_SCALE = {Money.MINOR_UNITS, Money.MINOR_UNITS / 10, 1};
+
+    private static final ThreadLocal<Cursor> CURSOR = ThreadLocal.withInitial(Cursor::new);
+
+    private final Mode mode;
+    private final ObjectMapper objectMapper;
+
+    public BetParser(Mode mode, ObjectMapper objectMapper) {
+        this.mode = mode;
+        this.objectMapper = objectMapper;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the bet, or {@code null} if the payload is malformed
+     */
+    public Bet parse(String payload, int offset) {
+        Cursor cursor = CURSOR.get();
+        cursor.reset(payload, offset, mode == Mode.LENIENT);
+        try {
+            if (cursor.scanObject() && cursor.atEnd()) {
+                return cursor.toBet();
+            }
+        } finally {
+            cursor.text = null;
+        }
+        if (mode == Mode.STRICT) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload.substring(offset), Bet.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a JSON array of bet payloads, as sent with the BETS command.
+     *
+     * @return the bets, or {@code null} if the payload is malformed
+     */
+    public List<Bet> parseBatch(String payload, int offset) {
+        Cursor cursor = CURSOR.get();
+        cursor.reset(payload, offset, mode == Mode.LENIENT);
+        try {
+            List<Bet> bets = cursor.scanArray();
+            if (bets != null) {
+                return bets;
+            }
+        } finally {
+            cursor.text = null;
+        }
+        if (mode == Mode.STRICT) {
+            return null;
+        }
+        try {
+            Bet[] bets = objectMapper.readValue(payload.substring(offset), Bet[].class);
+            return (bets != null) ? Arrays.asList(bets) : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static final class Cursor {
+        private String text;
+        private int pos;
+        private boolean lenient;
+        private int seen;
+        private int nicknameStart;
+        private int nicknameEnd;
+        private int number;
+        private long amount;
+
+        private void reset(String text, int offset, boolean lenient) {
+            this.text = text;
+            this.pos = offset;
+            this.lenient = lenient;
+        }
+
+        private List<Bet> scanArray() {
+            skipWhitespace();
+            if (!consume('[')) {
+                return null;
+            }
+            List<Bet> bets = new ArrayList<>();
+            skipWhitespace();
+            if (!consume(']')) {
+                do {
+                    if (!scanObject()) {
+                        return null;
+                    }
+                    bets.add(toBet());
+                    skipWhitespace();
+                } while (consume(','));
+                if (!consume(']')) {
+                    return null;
+                }
+            }
+            return atEnd() ? bets : null;
+        }
+
+        private Bet toBet() {
+            return new Bet(text.substring(nicknameStart, nicknameEnd), number, amount);
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return pos == text.length();
+        }
+
+        private boolean scanObject() {
+            seen = 0;
+            skipWhitespace();
+            if (!consume('{')) {
+                return false;
+            }
+            int expected = NICKNAME;
+            do {
+                skipWhitespace();
+                int field = key();
+                if (field < 0 || (!lenient && field != expected)) {
+                    return false;
+                }
+                skipWhitespace();
+                if (!consume(':')) {
+                    return false;
+                }
+                skipWhitespace();
+                boolean valid = switch (field) {
+                    case NICKNAME -> string();
+                    case NUMBER -> integer();
+                    default -> decimal();
+                };
+                if (!valid) {
+                    return false;
+                }
+                seen |= 1 << field;
+                expected++;
+                skipWhitespace();
+            } while (consume(','));
+            return consume('}') && seen == 0b111;
+        }
+
+        private int key() {
+            if (text.startsWith("\"nickname\"", pos)) {
+                pos += 10;
+                return NICKNAME;
+            }
+            if (text.startsWith("\"number\"", pos)) {
+                pos += 8;
+                return NUMBER;
+            }
+            if (text.startsWith("\"amount\"", pos)) {
+                pos += 8;
+                return AMOUNT;
+            }
+            return -1;
+        }
+
+        private boolean string() {
+            if (!consume('"')) {
+                return false;
+            }
+            int start = pos;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '"') {
+                    nicknameStart = start;
+                    nicknameEnd = pos++;
+                    return true;
+                }
+                if (c == '\\' || c < 0x20) {
+                    return false;
+                }
+                pos++;
+            }
+            return false;
+        }
+
+        private boolean integer() {
+            boolean negative = consume('-');
+            int start = pos;
+            int value = 0;
+            while (pos < text.length() && isDigit(text.charAt(pos))) {
+                value = value * 10 + (text.charAt(pos++) - '0');
+            }
+            int digits = pos - start;
+            if (digits == 0 || digits > MAX_INT_DIGITS || hasLeadingZero(start, digits) || continuesNumber()) {
+                return false;
+            }
+            number = negative ? -value : value;
+            return true;
+        }
+
+        private boolean decimal() {
+            boolean negative = consume('-');
+            int start = pos;
+            long mantissa = 0;
+            while (pos < text.length() && isDigit(text.charAt(pos))) {
+                mantissa = mantissa * 10 + (text.charAt(pos++) - '0');
+            }
+            int integerDigits = pos - start;
+            if (integerDigits == 0 || hasLeadingZero(start, integerDigits)) {
+                return false;
+            }
+            int scale = 0;
+            if (consume('.')) {
+                int fractionStart = pos;
+                while (pos < text.length() && isDigit(text.charAt(pos))) {
+                    mantissa = mantissa * 10 + (text.charAt(pos++) - '0');
+                }
+                scale = pos - fractionStart;
+                if (scale == 0 || scale > Money.SCALE) {
+                    return false;
+                }
+            }
+            if (integerDigits + scale > MAX_DECIMAL_DIGITS || continuesNumber()) {
+                return false;
+            }
+            long value = mantissa * MINOR_SCALE[scale];
+            amount = negative ? -value : value;
+            return true;
+        }
+
+        private boolean hasLeadingZero(int start, int digits) {
+            return digits > 1 && text.charAt(start) == '0';
+        }
+
+        private boolean continuesNumber() {
+            if (pos >= text.length()) {
+                return false;
+            }
+            char c = text.charAt(pos);
+            return c == '.' || c == 'e' || c == 'E';
+        }
+
+        private boolean consume(char expected) {
+            if (pos < text.length() && text.charAt(pos) == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            if (!lenient) {
+                return;
+            }
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
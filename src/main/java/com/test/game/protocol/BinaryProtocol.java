@@ -0,0 +1,114 @@
+package com.test.game.protocol;
+
+import com.test.game.dto.BetResult;
+import com.test.game.dto.PlayerResult;
+import com.test.game.money.Money;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Fixed-layout binary frames for clients that negotiate the {@value #SUBPROTOCOL} subprotocol.
+ * <p>
+ * All multi-byte fields are big-endian. Amounts are fixed-point in minor units
+ * ({@value #MINOR_UNITS} per unit).
+ * <pre>
+ * client -> server
+ *   REGISTER  [0x01][nickname: UTF-8, rest of frame]
+ *   BET       [0x02][number: u8][amount: i64]
+ *   JOIN      [0x03][table id: UTF-8, rest of frame]
+ *   BETS      [0x04][count: u16]([number: u8][amount: i64]) * count
+ * server -> client
+ *   ACK       [0x81][op: u8][status: u8]
+ *             status: 0 ok, 1 invalid bet, 2 not registered, 3 malformed, 4 table limit, 5 insufficient balance,
+ *             6 rate limited, 7 busy, 8 nickname taken
+ *   ROUND     [0x83][winningNumber: u8][winnerCount: i32][totalPayout: i64]
+ *   BETS_ACK  [0x84][count: u16][accepted: bitmap, bit i of byte i / 8 set for accepted item i]
+ *   REGISTERED [0x85][playerId: i32]
+ *   ROUND_RESULT [0x86][winningNumber: u8][winnerCount: i32][totalPayout: i64]
+ *             [stake: i64][winnings: i64][count: i32]([number: u8][amount: i64][payout: i64]) * count
+ * </pre>
+ * At the end of a round players who bet get ROUND_RESULT, which carries their own bets along with
+ * the round summary; everyone else gets ROUND.
+ * A successful REGISTER is answered with REGISTERED instead of an ACK; REGISTERED is also sent
+ * after a JOIN that moved a registered player, since player ids are per table.
+ */
+public final class BinaryProtocol {
+
+    public static final String SUBPROTOCOL = "game-binary.v1";
+    public static final long MINOR_UNITS = Money.MINOR_UNITS;
+
+    public static final byte REGISTER = 0x01;
+    public static final byte BET = 0x02;
+    public static final byte JOIN = 0x03;
+    public static final byte BETS = 0x04;
+
+    public static final byte ACK = (byte) 0x81;
+    public static final byte ROUND = (byte) 0x83;
+    public static final byte BETS_ACK = (byte) 0x84;
+    public static final byte REGISTERED = (byte) 0x85;
+    public static final byte ROUND_RESULT = (byte) 0x86;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_INVALID_BET = 1;
+    public static final byte STATUS_NOT_REGISTERED = 2;
+    public static final byte STATUS_MALFORMED = 3;
+    public static final byte STATUS_TABLE_LIMIT = 4;
+    public static final byte STATUS_INSUFFICIENT_BALANCE = 5;
+    public static final byte STATUS_RATE_LIMITED = 6;
+    public static final byte STATUS_BUSY = 7;
+    public static final byte STATUS_NICKNAME_TAKEN = 8;
+
+    public static final int BET_LENGTH = 1 + 1 + Long.BYTES;
+    public static final int BATCH_ITEM_LENGTH = 1 + Long.BYTES;
+
+    private static final int ROUND_LENGTH = 1 + 1 + Integer.BYTES + Long.BYTES;
+    private static final int BET_RESULT_LENGTH = 1 + Long.BYTES + Long.BYTES;
+
+    private BinaryProtocol() {
+    }
+
+    public static boolean isBinary(WebSocketSession session) {
+        return SUBPROTOCOL.equals(session.getAcceptedProtocol());
+    }
+
+    public static BinaryMessage ack(byte op, byte status) {
+        return new BinaryMessage(new byte[]{ACK, op, status});
+    }
+
+    public static BinaryMessage registered(int playerId) {
+        return new BinaryMessage(ByteBuffer.allocate(1 + Integer.BYTES).put(REGISTERED).putInt(playerId).array());
+    }
+
+    public static BinaryMessage betsAck(int count, byte[] accepted) {
+        ByteBuffer frame = ByteBuffer.allocate(1 + Short.BYTES + accepted.length);
+        frame.put(BETS_ACK).putShort((short) count).put(accepted);
+        return new BinaryMessage(frame.array());
+    }
+
+    /**
+     * Each send consumes the buffer of its message, so the shared frame is wrapped per recipient.
+     */
+    public static byte[] round(int winningNumber, int winnerCount, long totalPayout) {
+        ByteBuffer frame = ByteBuffer.allocate(ROUND_LENGTH);
+        frame.put(ROUND).put((byte) winningNumber).putInt(winnerCount).putLong(totalPayout);
+        return frame.array();
+    }
+
+    /**
+     * Appends a player's result to a frame built by {@link #round}.
+     */
+    public static BinaryMessage roundResult(byte[] round, PlayerResult result) {
+        List<BetResult> bets = result.getBets();
+        ByteBuffer frame = ByteBuffer.allocate(ROUND_LENGTH + 2 * Long.BYTES + Integer.BYTES
+                + bets.size() * BET_RESULT_LENGTH);
+        frame.put(ROUND_RESULT).put(round, 1, ROUND_LENGTH - 1)
+                .putLong(result.getStake()).putLong(result.getWinnings()).putInt(bets.size());
+        for (BetResult bet : bets) {
+            frame.put((byte) bet.getNumber()).putLong(bet.getAmount()).putLong(bet.getPayout());
+        }
+        return new BinaryMessage(frame.array());
+    }
+}
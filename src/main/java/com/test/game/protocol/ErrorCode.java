@@ -0,0 +1,54 @@
+package com.test.game.protocol;
+
+import com.test.game.player.PlayerRegistry;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * Expected client errors, each with its text reply encoded once up front and the status binary
+ * clients get for it. Replying with a code costs no string building; {@link TextMessage} is
+ * immutable, so the frame is shared by every session it is sent to.
+ */
+public enum ErrorCode {
+    MALFORMED_BET("Error placing bet: Malformed bet", BinaryProtocol.STATUS_MALFORMED),
+    MISSING_NICKNAME("Error placing bet: Invalid bet, nickname is required", BinaryProtocol.STATUS_INVALID_BET),
+    NUMBER_OUT_OF_RANGE("Error placing bet: Invalid bet, number is not on the table", BinaryProtocol.STATUS_INVALID_BET),
+    AMOUNT_OUT_OF_RANGE("Error placing bet: Invalid bet, amount is outside the table limits", BinaryProtocol.STATUS_INVALID_BET),
+    BATCH_TOO_LARGE("Error placing bet: Batch exceeds the maximum batch size", BinaryProtocol.STATUS_MALFORMED),
+    NOT_REGISTERED("Register player first, then place bet", BinaryProtocol.STATUS_NOT_REGISTERED),
+    INVALID_NICKNAME("Invalid nickname, use 1 to " + PlayerRegistry.MAX_NICKNAME_LENGTH + " characters",
+            BinaryProtocol.STATUS_MALFORMED),
+    NICKNAME_TAKEN("Nickname is already in use", BinaryProtocol.STATUS_NICKNAME_TAKEN),
+    NICKNAME_MISMATCH("Error placing bet: Bets can only be placed under your own nickname",
+            BinaryProtocol.STATUS_NOT_REGISTERED),
+    INSUFFICIENT_BALANCE("Error placing bet: Insufficient balance", BinaryProtocol.STATUS_INSUFFICIENT_BALANCE),
+    RATE_LIMITED("Rate limit exceeded", BinaryProtocol.STATUS_RATE_LIMITED),
+    BUSY("Server busy, try again later", BinaryProtocol.STATUS_BUSY),
+    TABLE_LIMIT("Table limit reached", BinaryProtocol.STATUS_TABLE_LIMIT),
+    INVALID_TABLE("Invalid table id", BinaryProtocol.STATUS_MALFORMED),
+    INVALID_HISTORY_SIZE("Invalid history size", BinaryProtocol.STATUS_MALFORMED),
+    INVALID_WINNERS_QUERY("Invalid winners query", BinaryProtocol.STATUS_MALFORMED),
+    WINNERS_UNAVAILABLE("Winners of the round are not available", BinaryProtocol.STATUS_MALFORMED),
+    UNKNOWN_COMMAND("Valid commands: JOIN:table-1, NICKNAME:Player1, BET:{\"nickname\":\"Player1\",\"number\":1,\"amount\":100}, BETS:[...], HISTORY:10 and ROUND_WINNERS:42:0",
+            BinaryProtocol.STATUS_MALFORMED),
+    SUBPROTOCOL_REQUIRED("Binary frames require the " + BinaryProtocol.SUBPROTOCOL + " subprotocol",
+            BinaryProtocol.STATUS_MALFORMED),
+    INTERNAL_ERROR("Internal error, try again later", BinaryProtocol.STATUS_MALFORMED);
+
+    private final TextMessage frame;
+    private final byte status;
+
+    ErrorCode(String message, byte status) {
+        this.frame = new TextMessage("ERROR: " + message);
+        this.status = status;
+    }
+
+    /** The {@code ERROR: ...} text frame. */
+    public TextMessage frame() {
+        return frame;
+    }
+
+    /** ACK status reported to binary clients. */
+    public byte status() {
+        return status;
+    }
+}
@@ -0,0 +1,107 @@
+package com.test.game.reactive;
+
+import com.test.game.GameWebSocketHandler;
+import com.test.game.config.OutboundProperties;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.protocol.BinaryProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive transport for the game protocol: adapts each Reactor Netty connection to a
+ * {@link ReactiveSession} and feeds its frames through the same {@link GameWebSocketHandler} the
+ * servlet transport uses.
+ * <p>
+ * Inbound frames are handled on the connection's event loop one at a time, so a client is not read
+ * faster than its commands are taken in; outbound frames flow through the session's bounded sink at
+ * the pace the channel can write them. Neither direction holds a thread per connection.
+ */
+public class ReactiveGameHandler implements WebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGameHandler.class);
+
+    private final Map<String, ReactiveSession> sessions = new ConcurrentHashMap<>();
+    private final GameWebSocketHandler gameHandler;
+    private final OutboundProperties properties;
+    private final GameMetrics metrics;
+
+    public ReactiveGameHandler(GameWebSocketHandler gameHandler, OutboundProperties properties) {
+        this(gameHandler, properties, GameMetrics.NOOP);
+    }
+
+    public ReactiveGameHandler(GameWebSocketHandler gameHandler, OutboundProperties properties, GameMetrics metrics) {
+        this.gameHandler = gameHandler;
+        this.properties = properties;
+        this.metrics = metrics;
+        metrics.bindSessions(sessions::size, this::queuedMessages);
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BinaryProtocol.SUBPROTOCOL);
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        ReactiveSession reactive = new ReactiveSession(session, properties, metrics);
+        sessions.put(session.getId(), reactive);
+        gameHandler.afterConnectionEstablished(reactive);
+
+        Mono<Void> input = session.receive()
+                .doOnNext(message -> dispatch(reactive, message))
+                .then()
+                .doFinally(signal -> closed(reactive, signal));
+        return session.send(reactive.outbound()).and(input);
+    }
+
+    private void dispatch(ReactiveSession session, WebSocketMessage message) {
+        try {
+            switch (message.getType()) {
+                case TEXT -> gameHandler.handleMessage(session, new TextMessage(message.getPayloadAsText()));
+                case BINARY -> gameHandler.handleMessage(session, new BinaryMessage(copy(message.getPayload())));
+                default -> {
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle message: ", e);
+        }
+    }
+
+    private void closed(ReactiveSession session, SignalType signal) {
+        sessions.remove(session.getId());
+        session.discard();
+        gameHandler.afterConnectionClosed(session,
+                signal == SignalType.ON_ERROR ? CloseStatus.SERVER_ERROR : CloseStatus.NORMAL);
+    }
+
+    /**
+     * Copies the frame out of the pooled buffer, which Reactor Netty releases once the frame has
+     * been handled.
+     */
+    private static byte[] copy(DataBuffer payload) {
+        byte[] bytes = new byte[payload.readableByteCount()];
+        payload.read(bytes);
+        return bytes;
+    }
+
+    private long queuedMessages() {
+        long queued = 0;
+        for (ReactiveSession session : sessions.values()) {
+            queued += session.getQueueDepth();
+        }
+        return queued;
+    }
+}
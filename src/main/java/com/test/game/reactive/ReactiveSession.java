@@ -0,0 +1,217 @@
+package com.test.game.reactive;
+
+import com.test.game.config.OutboundProperties;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.outbound.OverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Presents a Reactor Netty connection as a {@link WebSocketSession}, so {@code GameWebSocketHandler}
+ * and the round fan-out run unchanged on the reactive transport.
+ * <p>
+ * {@link #sendMessage} only offers the frame to a bounded sink; the connection drains it as the
+ * channel becomes writable, so a slow client fills its own buffer instead of blocking a shard or
+ * settlement thread. A full buffer is handled according to the configured {@link OverflowPolicy}.
+ */
+public class ReactiveSession implements WebSocketSession {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSession.class);
+
+    private final org.springframework.web.reactive.socket.WebSocketSession delegate;
+    private final Map<String, Object> attributes;
+    private final Queue<org.springframework.web.reactive.socket.WebSocketMessage> queue;
+    private final Sinks.Many<org.springframework.web.reactive.socket.WebSocketMessage> sink;
+    private final OverflowPolicy overflowPolicy;
+    private final GameMetrics metrics;
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+
+    public ReactiveSession(org.springframework.web.reactive.socket.WebSocketSession delegate,
+                           OutboundProperties properties) {
+        this(delegate, properties, GameMetrics.NOOP);
+    }
+
+    public ReactiveSession(org.springframework.web.reactive.socket.WebSocketSession delegate,
+                           OutboundProperties properties, GameMetrics metrics) {
+        this.delegate = delegate;
+        this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+        this.queue = Queues.<org.springframework.web.reactive.socket.WebSocketMessage>get(
+                properties.getBufferSizeLimit()).get();
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(queue);
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Frames waiting for the connection to accept them; the reactive counterpart of the servlet
+     * transport's outbound queue.
+     */
+    public Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound() {
+        return sink.asFlux();
+    }
+
+    @Override
+    public synchronized void sendMessage(WebSocketMessage<?> message) {
+        if (terminated.get()) {
+            drop();
+            return;
+        }
+        Sinks.EmitResult result = sink.tryEmitNext(convert(message));
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            overflow();
+        } else if (result.isFailure()) {
+            drop();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops accepting frames and completes the outbound stream once the connection has closed.
+     */
+    public synchronized void discard() {
+        terminated.set(true);
+        sink.tryEmitComplete();
+    }
+
+    private void overflow() {
+        drop();
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            return;
+        }
+        if (terminated.compareAndSet(false, true)) {
+            log.warn("Disconnecting slow session {}: buffer size limit exceeded", getId());
+            close(CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    private void drop() {
+        dropped.increment();
+        metrics.sendDropped();
+    }
+
+    /**
+     * Wraps the payload of a servlet-side message without copying; pre-encoded frames shared across
+     * sessions are only ever read.
+     */
+    private org.springframework.web.reactive.socket.WebSocketMessage convert(WebSocketMessage<?> message) {
+        DataBufferFactory factory = delegate.bufferFactory();
+        if (message instanceof TextMessage text) {
+            return new org.springframework.web.reactive.socket.WebSocketMessage(
+                    org.springframework.web.reactive.socket.WebSocketMessage.Type.TEXT, factory.wrap(text.asBytes()));
+        }
+        if (message instanceof BinaryMessage binary) {
+            return new org.springframework.web.reactive.socket.WebSocketMessage(
+                    org.springframework.web.reactive.socket.WebSocketMessage.Type.BINARY,
+                    factory.wrap(binary.getPayload().asReadOnlyBuffer()));
+        }
+        throw new IllegalArgumentException("Unsupported message type: " + message.getClass().getSimpleName());
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public URI getUri() {
+        return delegate.getHandshakeInfo().getUri();
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return delegate.getHandshakeInfo().getHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return delegate.getHandshakeInfo().getPrincipal().toFuture().getNow(null);
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return delegate.getHandshakeInfo().getRemoteAddress();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return delegate.getHandshakeInfo().getSubProtocol();
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public void close() {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        delegate.close(new org.springframework.web.reactive.socket.CloseStatus(status.getCode(), status.getReason()))
+                .subscribe();
+    }
+}
@@ -0,0 +1,153 @@
+package com.test.game.startup;
+
+import com.test.game.config.TrainingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training workload for building a JDK AOT cache (or AppCDS archive) of the server.
+ * <p>
+ * With {@code game.training.enabled} set, the application connects {@code players} clients to its
+ * own endpoint over loopback once it is ready, has every client bet through the text protocol for
+ * {@code rounds} rounds and then exits. The run goes through the same path as production traffic,
+ * handshake, {@code handleTextMessage}, the round clock and settlement, so the classes loaded and
+ * methods profiled while recording are the ones a freshly started pod needs first.
+ * <p>
+ * The bean is always registered and checks the flag at runtime, so it also works in an
+ * AOT-processed build, where bean conditions are fixed at build time.
+ */
+@Component
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingRun.class);
+
+    private final TrainingProperties properties;
+
+    public TrainingRun(TrainingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(URI.create("ws://localhost:" + port + "/ws/game"));
+        } catch (Exception e) {
+            log.error("Training run failed: ", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private void run(URI url) throws Exception {
+        long start = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(properties.getPlayers());
+        List<TrainingClient> clients = new ArrayList<>(properties.getPlayers());
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            for (int i = 0; i < properties.getPlayers(); i++) {
+                TrainingClient client = new TrainingClient("trainee-" + i, properties.getRounds(), done);
+                httpClient.newWebSocketBuilder().buildAsync(url, client).join();
+                clients.add(client);
+            }
+            if (!done.await(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Training run did not finish within " + properties.getTimeout());
+            }
+            for (TrainingClient client : clients) {
+                client.close();
+            }
+        }
+        log.info("Training run finished: {} players, {} rounds in {} ms", properties.getPlayers(),
+                properties.getRounds(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Registers, then bets once per round, alternating single bets and batches, until it has seen
+     * its share of round results.
+     */
+    private static final class TrainingClient implements WebSocket.Listener {
+
+        private final String nickname;
+        private final CountDownLatch done;
+        private final StringBuilder partial = new StringBuilder();
+        private int roundsLeft;
+        private volatile WebSocket webSocket;
+        private volatile CompletableFuture<WebSocket> lastSend = CompletableFuture.completedFuture(null);
+
+        TrainingClient(String nickname, int rounds, CountDownLatch done) {
+            this.nickname = nickname;
+            this.roundsLeft = rounds;
+            this.done = done;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            this.webSocket = webSocket;
+            send("NICKNAME:" + nickname);
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                handle(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void handle(String message) {
+            if (message.startsWith("REGISTERED:")) {
+                bet();
+            } else if (message.startsWith("WINNERS") && roundsLeft > 0) {
+                if (--roundsLeft == 0) {
+                    send("HISTORY:10");
+                    done.countDown();
+                } else {
+                    bet();
+                }
+            }
+        }
+
+        private void bet() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String bet = "{\"nickname\":\"" + nickname + "\",\"number\":" + random.nextInt(1, 11) + ",\"amount\":1}";
+            send((roundsLeft % 2 == 0) ? "BET:" + bet : "BETS:[" + bet + "," + bet + "]");
+        }
+
+        /**
+         * {@link WebSocket} allows one outstanding send, so sends are chained.
+         */
+        private void send(String text) {
+            lastSend = lastSend.thenCompose(ignored -> webSocket.sendText(text, true));
+        }
+
+        void close() {
+            lastSend.thenCompose(ws -> webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "")).join();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.test.game.util;
+
+/**
+ * Numbers a table takes bets on and the stake range it accepts, in minor units.
+ */
+public record BetLimits(int minNumber, int maxNumber, long minAmount, long maxAmount) {
+
+    public static final BetLimits DEFAULT = new BetLimits(1, 10, 1, Long.MAX_VALUE);
+
+    public BetLimits {
+        if (minNumber > maxNumber) {
+            throw new IllegalArgumentException("minNumber must not be greater than maxNumber");
+        }
+        if (minAmount < 1 || minAmount > maxAmount) {
+            throw new IllegalArgumentException("Stake limits must be positive and minAmount must not exceed maxAmount");
+        }
+    }
+}
@@ -1,14 +1,68 @@
 package com.test.game.util;
 
 import com.test.game.dto.Bet;
+import com.test.game.protocol.ErrorCode;
 
+/**
+ * Checks bets against the table's {@link BetLimits}. Rejections are reported as a {@link Result}
+ * rather than thrown, so a client flooding invalid bets costs neither stack traces nor messages.
+ */
 public class BetValidator {
+
+    public static final BetValidator DEFAULT = new BetValidator(BetLimits.DEFAULT);
+
+    public enum Result {
+        VALID(null),
+        MALFORMED(ErrorCode.MALFORMED_BET),
+        MISSING_NICKNAME(ErrorCode.MISSING_NICKNAME),
+        NUMBER_OUT_OF_RANGE(ErrorCode.NUMBER_OUT_OF_RANGE),
+        AMOUNT_OUT_OF_RANGE(ErrorCode.AMOUNT_OUT_OF_RANGE);
+
+        private final ErrorCode error;
+
+        Result(ErrorCode error) {
+            this.error = error;
+        }
+
+        /** Error reported to the client, or {@code null} for {@link #VALID}. */
+        public ErrorCode error() {
+            return error;
+        }
+    }
+
+    private final BetLimits limits;
+
+    public BetValidator(BetLimits limits) {
+        this.limits = limits;
+    }
+
+    public BetLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * @param bet the bet, or {@code null} for a payload that could not be parsed
+     */
+    public Result validate(Bet bet) {
+        if (bet == null) {
+            return Result.MALFORMED;
+        }
+        if (bet.getNickname() == null || bet.getNickname().isBlank()) {
+            return Result.MISSING_NICKNAME;
+        }
+        if (bet.getNumber() < limits.minNumber() || bet.getNumber() > limits.maxNumber()) {
+            return Result.NUMBER_OUT_OF_RANGE;
+        }
+        if (bet.getAmount() < limits.minAmount() || bet.getAmount() > limits.maxAmount()) {
+            return Result.AMOUNT_OUT_OF_RANGE;
+        }
+        return Result.VALID;
+    }
+
+    /**
+     * Checks a bet against the {@link BetLimits#DEFAULT default limits}.
+     */
     public static boolean isValid(Bet bet) {
-        return bet != null &&
-                bet.getNickname() != null &&
-                !bet.getNickname().trim().isEmpty() &&
-                bet.getNumber() >= 1 &&
-                bet.getNumber() <= 10 &&
-                bet.getAmount() > 0;
+        return DEFAULT.validate(bet) == Result.VALID;
     }
 }
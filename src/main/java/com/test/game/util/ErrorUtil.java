@@ -1,5 +1,6 @@
 package com.test.game.util;
 
+import com.test.game.protocol.ErrorCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.socket.TextMessage;
@@ -9,9 +10,16 @@ import java.io.IOException;
 
 public class ErrorUtil {
     private static final Logger log = LoggerFactory.getLogger(ErrorUtil.class);
-    public static void sendError(WebSocketSession session, String message) {
+    /**
+     * Sends the pre-encoded frame of an expected error.
+     */
+    public static void sendError(WebSocketSession session, ErrorCode code) {
+        send(session, code.frame());
+    }
+
+    private static void send(WebSocketSession session, TextMessage frame) {
         try {
-            session.sendMessage(new TextMessage("ERROR: " + message));
+            session.sendMessage(frame);
         } catch (IOException ioEx) {
             try {
                 if (session.isOpen()) {
@@ -0,0 +1,58 @@
+package com.test.game.wallet;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Balance of one player in minor units. Debits and credits are single CAS operations on the
+ * player's own balance, so players never contend with each other.
+ */
+public final class Account {
+
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balance", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String nickname;
+    private volatile long balance;
+
+    Account(String nickname, long balance) {
+        this.nickname = nickname;
+        this.balance = balance;
+    }
+
+    public String nickname() {
+        return nickname;
+    }
+
+    public long balance() {
+        return balance;
+    }
+
+    /**
+     * Takes {@code amount} from the balance unless that would make it negative.
+     *
+     * @return whether the debit was made
+     */
+    public boolean tryDebit(long amount) {
+        long current = (long) BALANCE.getVolatile(this);
+        while (current >= amount) {
+            long witness = (long) BALANCE.compareAndExchange(this, current, current - amount);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    public void credit(long amount) {
+        BALANCE.getAndAdd(this, amount);
+    }
+}
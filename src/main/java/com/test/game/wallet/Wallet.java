@@ -0,0 +1,34 @@
+package com.test.game.wallet;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Player accounts of this node, shared by all tables. Accounts are looked up by nickname only when
+ * a player registers at a table; the table then keeps the {@link Account} in the player's slot.
+ * <p>
+ * Balances are held in memory only; new accounts start with the configured initial balance.
+ */
+public class Wallet {
+
+    /** 1000 units. */
+    public static final long DEFAULT_INITIAL_BALANCE = 100_000;
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final long initialBalance;
+
+    public Wallet() {
+        this(DEFAULT_INITIAL_BALANCE);
+    }
+
+    public Wallet(long initialBalance) {
+        this.initialBalance = initialBalance;
+    }
+
+    /**
+     * Returns the account of the nickname, opening it with the initial balance if needed.
+     */
+    public Account account(String nickname) {
+        return accounts.computeIfAbsent(nickname, n -> new Account(n, initialBalance));
+    }
+}
@@ -0,0 +1,118 @@
+package com.test.game;
+
+import com.test.game.dto.Bet;
+import com.test.game.ledger.BetLedger;
+import com.test.game.ledger.SealedRound;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BetLedgerTest {
+
+    @Test
+    void seal_returnsBetsOfOpenEpochAndOpensNextOne() {
+        BetLedger ledger = new BetLedger();
+        ledger.add(new Bet("Alice", 1, 10));
+        ledger.add(new Bet("Bob", 2, 20));
+
+        SealedRound sealed = ledger.seal();
+
+        assertEquals(1, sealed.epoch());
+        assertEquals(2, sealed.betCount());
+        assertEquals(2, ledger.openEpoch());
+        assertEquals(0, ledger.seal().betCount());
+    }
+
+    @Test
+    void seal_groupsBetsByNumberWithRunningStakeTotals() {
+        BetLedger ledger = new BetLedger();
+        ledger.add(new Bet("Alice", 3, 10));
+        ledger.add(new Bet("Bob", 3, 15));
+        ledger.add(new Bet("Carol", 7, 5));
+
+        SealedRound sealed = ledger.seal();
+
+        assertEquals(2, sealed.bets(3).size());
+        assertEquals(2, sealed.count(3));
+        assertEquals(25.0, sealed.stake(3));
+        assertEquals(1, sealed.count(7));
+        assertTrue(sealed.bets(1).isEmpty());
+        assertEquals(30.0, sealed.totalStake());
+    }
+
+    @Test
+    void addAll_insertsWholeBatchIntoOneEpoch() {
+        BetLedger ledger = new BetLedger();
+
+        long epoch = ledger.addAll(List.of(new Bet("Alice", 1, 10), new Bet("Alice", 2, 20), new Bet("Alice", 2, 5)));
+
+        SealedRound sealed = ledger.seal();
+        assertEquals(epoch, sealed.epoch());
+        assertEquals(3, sealed.betCount());
+        assertEquals(25.0, sealed.stake(2));
+    }
+
+    @Test
+    void add_rejectsNumberOutsideRange() {
+        BetLedger ledger = new BetLedger();
+        assertThrows(IllegalArgumentException.class, () -> ledger.add(new Bet("Alice", 11, 10)));
+    }
+
+    @Test
+    void add_returnsEpochTheBetWasAcceptedInto() {
+        BetLedger ledger = new BetLedger();
+        assertEquals(1, ledger.add(new Bet("Alice", 1, 10)));
+        ledger.seal();
+        assertEquals(2, ledger.add(new Bet("Alice", 1, 10)));
+    }
+
+    @Test
+    void seal_doesNotLoseBetsPlacedConcurrently() throws Exception {
+        BetLedger ledger = new BetLedger();
+        int writers = 8;
+        int betsPerWriter = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong settled = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int w = 0; w < writers; w++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < betsPerWriter; i++) {
+                        ledger.add(new Bet("Player", 1 + i % 10, 1));
+                    }
+                });
+            }
+            Thread resolver = new Thread(() -> {
+                while (!done.get()) {
+                    settled.addAndGet(ledger.seal().betCount());
+                }
+            });
+            resolver.start();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            done.set(true);
+            resolver.join();
+        }
+        settled.addAndGet(ledger.seal().betCount());
+
+        assertEquals(writers * betsPerWriter, settled.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.game.dto.Bet;
+import com.test.game.protocol.BetParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class BetParserTest {
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final BetParser lenient = new BetParser(BetParser.Mode.LENIENT, objectMapper);
+    private final BetParser strict = new BetParser(BetParser.Mode.STRICT, objectMapper);
+
+    @Test
+    void parse_canonicalPayloadWithoutJackson() throws Exception {
+        Bet bet = strict.parse("BET:{\"nickname\":\"Player1\",\"number\":7,\"amount\":12.25}", 4);
+
+        assertEquals(new Bet("Player1", 7, 1225), bet);
+        verify(objectMapper, never()).readValue(any(String.class), eq(Bet.class));
+    }
+
+    @Test
+    void parse_lenientAcceptsWhitespaceAndAnyFieldOrder() throws Exception {
+        Bet bet = lenient.parse("BET: { \"amount\" : -10 ,\n\"number\": 3, \"nickname\": \"Bob\" } ", 4);
+
+        assertEquals(new Bet("Bob", 3, -1000), bet);
+        verify(objectMapper, never()).readValue(any(String.class), eq(Bet.class));
+    }
+
+    @Test
+    void parse_strictRejectsNonCanonicalPayload() {
+        assertNull(strict.parse("BET:{\"number\":3,\"nickname\":\"Bob\",\"amount\":10}", 4));
+        assertNull(strict.parseBatch("BETS:[{\"number\":3,\"nickname\":\"Bob\",\"amount\":10}]", 5));
+    }
+
+    @Test
+    void parse_lenientFallsBackToJacksonForEscapes() throws Exception {
+        Bet bet = lenient.parse("BET:{\"nickname\":\"Bo\\u0062\",\"number\":3,\"amount\":1e2}", 4);
+
+        assertEquals(new Bet("Bob", 3, 10000), bet);
+        verify(objectMapper).readValue(any(String.class), eq(Bet.class));
+    }
+
+    @Test
+    void parse_lenientFallsBackToJacksonForMalformedJson() {
+        assertNull(lenient.parse("BET:{\"nickname\":\"John\",\"number\":3,\"amount\":100", 4));
+        assertNull(lenient.parseBatch("BETS:[{\"nickname\":\"John\"", 5));
+    }
+
+    @Test
+    void parseBatch_parsesArrayOfBetsWithoutJackson() throws Exception {
+        List<Bet> bets = strict.parseBatch("BETS:[{\"nickname\":\"A\",\"number\":1,\"amount\":5},"
+                + "{\"nickname\":\"B\",\"number\":2,\"amount\":7.5}]", 5);
+
+        assertEquals(List.of(new Bet("A", 1, 500), new Bet("B", 2, 750)), bets);
+        verify(objectMapper, never()).readValue(any(String.class), eq(Bet[].class));
+    }
+
+    @Test
+    void parseBatch_lenientFallsBackToJackson() throws Exception {
+        List<Bet> bets = lenient.parseBatch("BETS:[{\"nickname\":\"A\",\"number\":1,\"amount\":5e0}]", 5);
+
+        assertEquals(List.of(new Bet("A", 1, 500)), bets);
+        verify(objectMapper).readValue(any(String.class), eq(Bet[].class));
+    }
+
+    @Test
+    void parse_lenientFallsBackToJacksonForUnknownField() {
+        assertNull(lenient.parse("BET:{\"nickname\":\"John\",\"number\":3,\"amount\":100,\"extra\":1}", 4));
+    }
+}
@@ -2,6 +2,8 @@ package com.test.game;
 
 
 import com.test.game.dto.Bet;
+import com.test.game.protocol.ErrorCode;
+import com.test.game.util.BetLimits;
 import com.test.game.util.BetValidator;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,4 +39,17 @@ public class BetValidatorTest {
         Bet bet = new Bet("", 5, 100);
         assertFalse(BetValidator.isValid(bet));
     }
+
+    @Test
+    void validate_reportsReasonAgainstConfiguredLimits() {
+        BetValidator validator = new BetValidator(new BetLimits(0, 36, 100, 10_000));
+
+        assertEquals(BetValidator.Result.VALID, validator.validate(new Bet("Player1", 0, 100)));
+        assertEquals(BetValidator.Result.VALID, validator.validate(new Bet("Player1", 36, 10_000)));
+        assertEquals(BetValidator.Result.NUMBER_OUT_OF_RANGE, validator.validate(new Bet("Player1", 37, 100)));
+        assertEquals(BetValidator.Result.AMOUNT_OUT_OF_RANGE, validator.validate(new Bet("Player1", 5, 99)));
+        assertEquals(BetValidator.Result.AMOUNT_OUT_OF_RANGE, validator.validate(new Bet("Player1", 5, 10_001)));
+        assertEquals(BetValidator.Result.MISSING_NICKNAME, validator.validate(new Bet(" ", 5, 100)));
+        assertEquals(ErrorCode.NUMBER_OUT_OF_RANGE, BetValidator.Result.NUMBER_OUT_OF_RANGE.error());
+    }
 }
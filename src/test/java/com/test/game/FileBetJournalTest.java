@@ -0,0 +1,131 @@
+package com.test.game;
+
+import com.test.game.dto.Bet;
+import com.test.game.journal.FileBetJournal;
+import com.test.game.journal.RecoveredBet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileBetJournalTest {
+
+    private static final Duration COMMIT_INTERVAL = Duration.ofMillis(1);
+    private static final long SEGMENT_SIZE = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_returnsOnlyBetsOfUnsettledRounds() throws IOException {
+        try (FileBetJournal journal = open()) {
+            journal.betAccepted("main", 1, new Bet("Alice", 3, 1000));
+            journal.roundSettled("main", 1, 7);
+            journal.betAccepted("main", 2, new Bet("Bob", 5, 2550));
+            journal.betAccepted("table-42", 1, new Bet("Carol", 1, 100));
+            journal.flush();
+        }
+
+        try (FileBetJournal journal = open()) {
+            List<RecoveredBet> recovered = journal.recover();
+
+            assertEquals(2, recovered.size());
+            assertEquals("main", recovered.get(0).tableId());
+            assertEquals(new Bet("Bob", 5, 2550), recovered.get(0).bet());
+            assertEquals("table-42", recovered.get(1).tableId());
+            assertEquals(new Bet("Carol", 1, 100), recovered.get(1).bet());
+        }
+    }
+
+    @Test
+    void recover_doesNotConfuseRoundsOfDifferentRuns() throws IOException {
+        try (FileBetJournal journal = open()) {
+            journal.betAccepted("main", 1, new Bet("Alice", 3, 1000));
+            journal.flush();
+        }
+        try (FileBetJournal journal = open()) {
+            for (RecoveredBet bet : journal.recover()) {
+                journal.betRestored("main", 1, bet);
+            }
+            journal.retireRecovered();
+            journal.roundSettled("main", 1, 3);
+            journal.betAccepted("main", 2, new Bet("Bob", 4, 1000));
+            journal.flush();
+        }
+
+        try (FileBetJournal journal = open()) {
+            List<RecoveredBet> recovered = journal.recover();
+
+            assertEquals(1, recovered.size());
+            assertEquals("Bob", recovered.get(0).bet().getNickname());
+        }
+    }
+
+    @Test
+    void recover_returnsRestoredBetOnceWhenEarlierRecoveryWasInterrupted() throws IOException {
+        try (FileBetJournal journal = open()) {
+            journal.betAccepted("main", 1, new Bet("Alice", 3, 1000));
+            journal.flush();
+        }
+        try (FileBetJournal journal = open()) {
+            for (RecoveredBet bet : journal.recover()) {
+                journal.betRestored("main", 1, bet);
+            }
+            journal.flush();
+        }
+
+        try (FileBetJournal journal = open()) {
+            assertEquals(1, journal.recover().size());
+        }
+    }
+
+    @Test
+    void recover_ignoresTornRecordAtEndOfSegment() throws IOException {
+        try (FileBetJournal journal = open()) {
+            journal.betAccepted("main", 1, new Bet("Alice", 3, 1000));
+            journal.flush();
+        }
+        Path segment = segments().get(0);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (FileBetJournal journal = open()) {
+            assertEquals(1, journal.recover().size());
+        }
+    }
+
+    @Test
+    void flush_deletesSegmentsWhoseRoundsAreAllSettled() throws IOException {
+        try (FileBetJournal journal = new FileBetJournal(directory, COMMIT_INTERVAL, 1)) {
+            journal.betAccepted("main", 1, new Bet("Alice", 3, 1000));
+            journal.flush();
+            journal.roundSettled("main", 1, 3);
+            journal.flush();
+            journal.betAccepted("main", 2, new Bet("Alice", 3, 1000));
+            journal.flush();
+
+            assertTrue(segments().size() <= 2);
+        }
+        try (FileBetJournal journal = open()) {
+            assertEquals(1, journal.recover().size());
+        }
+    }
+
+    private FileBetJournal open() throws IOException {
+        return new FileBetJournal(directory, COMMIT_INTERVAL, SEGMENT_SIZE);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -1,17 +1,48 @@
 package com.test.game;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.game.config.IntakeProperties;
+import com.test.game.config.ProtocolProperties;
 import com.test.game.dto.Bet;
+import com.test.game.dto.Player;
+import com.test.game.dto.RoundSummary;
+import com.test.game.dto.WinnersPage;
+import com.test.game.intake.IntakeGate;
+import com.test.game.intake.IntakePolicy;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.player.PlayerRegistry;
+import com.test.game.protocol.BinaryProtocol;
+import com.test.game.protocol.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,15 +52,26 @@ class GameWebSocketHandlerTest {
     private WebSocketSession session;
     private GameWebSocketHandler handler;
     private ObjectMapper objectMapper;
+    private AutoCloseable mocks;
+
+    @Captor
+    private ArgumentCaptor<List<Bet>> bets;
 
     @BeforeEach
     void setup() {
+        mocks = MockitoAnnotations.openMocks(this);
         roundManager = mock(RoundManager.class);
+        when(roundManager.addBet(any())).thenReturn(RoundManager.BetStatus.ACCEPTED);
         session = mock(WebSocketSession.class);
         handler = new GameWebSocketHandler(roundManager);
         objectMapper = new ObjectMapper();
     }
 
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
     @Test
     void handleTextMessage_playerAddedSuccessfully(){
         TextMessage message = new TextMessage("NICKNAME:JohnDoe");
@@ -37,24 +79,40 @@ class GameWebSocketHandlerTest {
         verify(roundManager).addPlayer(eq("JohnDoe"), eq(session));
     }
 
+    @Test
+    void handleTextMessage_rejectsNicknameOverTheLengthLimit() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("NICKNAME:" + "x".repeat(PlayerRegistry.MAX_NICKNAME_LENGTH + 1)));
+
+        verify(roundManager, never()).addPlayer(any(), any());
+        verify(session).sendMessage(ErrorCode.INVALID_NICKNAME.frame());
+    }
+
+    @Test
+    void handleTextMessage_rejectsBlankNickname() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("NICKNAME: "));
+
+        verify(roundManager, never()).addPlayer(any(), any());
+        verify(session).sendMessage(ErrorCode.INVALID_NICKNAME.frame());
+    }
+
     @Test
     void handleTextMessage_betAddedSuccessfully() throws Exception {
-        Bet bet = new Bet("JohnDoe", 5, 100.0);
+        Bet bet = new Bet("JohnDoe", 5, 10000);
         String betJson = objectMapper.writeValueAsString(bet);
         TextMessage message = new TextMessage("BET:" + betJson);
 
-        when(roundManager.getPlayerSession("JohnDoe")).thenReturn(session);
+        when(session.getAttributes()).thenReturn(registered("JohnDoe", 1));
         handler.handleTextMessage(session, message);
         verify(roundManager).addBet(any(Bet.class));
     }
 
     @Test
-    void handleTextMessage_handleBetExceptionWhenAmountNegative() throws Exception {
-        Bet invalidBet = new Bet("JohnDoe", 5, -10.0);
+    void handleTextMessage_sendInvalidBetErrorWhenAmountNegative() throws Exception {
+        Bet invalidBet = new Bet("JohnDoe", 5, -1000);
         String betJson = objectMapper.writeValueAsString(invalidBet);
         TextMessage message = new TextMessage("BET:" + betJson);
 
-        when(roundManager.getPlayerSession("JohnDoe")).thenReturn(session);
+        when(session.getAttributes()).thenReturn(registered("JohnDoe", 1));
 
         handler.handleTextMessage(session, message);
 
@@ -66,6 +124,22 @@ class GameWebSocketHandlerTest {
         assertTrue(errorMessage.contains("Invalid bet"));
     }
 
+    @Test
+    void handleTextMessage_answersRejectedBetsWithPreEncodedFrames() throws Exception {
+        when(session.getAttributes()).thenReturn(registered("JohnDoe", 1));
+        when(roundManager.addBet(any())).thenReturn(RoundManager.BetStatus.INSUFFICIENT_BALANCE);
+
+        handler.handleTextMessage(session, new TextMessage("BET:{\"nickname\":\"JohnDoe\",\"number\":11,\"amount\":100}"));
+        handler.handleTextMessage(session, new TextMessage("BET:{\"nickname\":\"JohnDoe\",\"number\":12,\"amount\":100}"));
+        handler.handleTextMessage(session, new TextMessage("BET:{\"nickname\":\"JohnDoe\",\"number\":5,\"amount\":100}"));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(3)).sendMessage(captor.capture());
+        assertSame(ErrorCode.NUMBER_OUT_OF_RANGE.frame(), captor.getAllValues().get(0));
+        assertSame(captor.getAllValues().get(0), captor.getAllValues().get(1));
+        assertSame(ErrorCode.INSUFFICIENT_BALANCE.frame(), captor.getAllValues().get(2));
+    }
+
     @Test
     void handleTextMessage_handleExceptionWithMalformedMessage() throws Exception {
         TextMessage message = new TextMessage("BADMESSAGE");
@@ -82,13 +156,11 @@ class GameWebSocketHandlerTest {
 
     @Test
     void handleTextMessage_sendRegisterFirstErrorWhenPlayerNotRegistered() throws Exception {
-        Bet bet = new Bet("UnregisteredUser", 3, 50.0);
+        Bet bet = new Bet("UnregisteredUser", 3, 5000);
         String betJson = objectMapper.writeValueAsString(bet);
         TextMessage message = new TextMessage("BET:" + betJson);
 
 
-        when(roundManager.getPlayerSession("UnregisteredUser")).thenReturn(null);
-
         handler.handleTextMessage(session, message);
 
         ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
@@ -99,7 +171,52 @@ class GameWebSocketHandlerTest {
     }
 
     @Test
-    void handleTextMessage_sendGeneralErrorWhenInvalidJson() throws Exception {
+    void handleTextMessage_betsUnderAnotherPlayersNicknameLeaveTheirBalanceUntouched() throws Exception {
+        RoundManager table = RoundManager.builder().build();
+        GameWebSocketHandler realHandler = new GameWebSocketHandler(table);
+        WebSocketSession bob = mock(WebSocketSession.class);
+        when(bob.getAttributes()).thenReturn(new HashMap<>());
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        realHandler.handleTextMessage(bob, new TextMessage("NICKNAME:Bob"));
+        realHandler.handleTextMessage(session, new TextMessage("NICKNAME:Alice"));
+        int bobId = table.playerId("Bob");
+        long balance = table.getBalance(bobId);
+
+        realHandler.handleTextMessage(session, new TextMessage("BET:{\"nickname\":\"Bob\",\"number\":5,\"amount\":100}"));
+        realHandler.handleTextMessage(session, new TextMessage("BETS:[{\"nickname\":\"Bob\",\"number\":5,\"amount\":100}]"));
+
+        assertEquals(balance, table.getBalance(bobId));
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(3)).sendMessage(captor.capture());
+        assertSame(ErrorCode.NICKNAME_MISMATCH.frame(), captor.getAllValues().get(1));
+        assertEquals("BETS_ACK:1:00", captor.getAllValues().get(2).getPayload());
+    }
+
+    @Test
+    void handleTextMessage_nicknameOfAnotherOpenSessionCannotBeClaimed() throws Exception {
+        RoundManager table = RoundManager.builder().build();
+        GameWebSocketHandler realHandler = new GameWebSocketHandler(table);
+        WebSocketSession bob = mock(WebSocketSession.class);
+        when(bob.isOpen()).thenReturn(true);
+        when(bob.getAttributes()).thenReturn(new HashMap<>());
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        realHandler.handleTextMessage(bob, new TextMessage("NICKNAME:Bob"));
+        int bobId = table.playerId("Bob");
+
+        realHandler.handleTextMessage(session, new TextMessage("NICKNAME:Bob"));
+        realHandler.handleTextMessage(session, new TextMessage("NICKNAME:Alice"));
+        realHandler.handleTextMessage(session, new TextMessage("NICKNAME:Carol"));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(3)).sendMessage(captor.capture());
+        assertSame(ErrorCode.NICKNAME_TAKEN.frame(), captor.getAllValues().get(0));
+        assertSame(bob, table.getPlayerSession(bobId));
+        assertEquals(PlayerRegistry.NO_PLAYER, table.playerId("Alice"));
+        assertSame(session, table.getPlayerSession("Carol"));
+    }
+
+    @Test
+    void handleTextMessage_sendMalformedBetErrorWhenInvalidJson() throws Exception {
 
         String invalidJson = "BET:{\"nickname\":\"John\",\"number\":3,\"amount\":100";
         TextMessage message = new TextMessage(invalidJson);
@@ -109,8 +226,310 @@ class GameWebSocketHandlerTest {
         ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
         verify(session).sendMessage(captor.capture());
 
-        String errorMessage = captor.getValue().getPayload();
-        assertTrue(errorMessage.startsWith("ERROR: General error:"));
+        assertSame(ErrorCode.MALFORMED_BET.frame(), captor.getValue());
+    }
+
+    @Test
+    void handleBinaryMessage_registersPlayerAndAcks() throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(roundManager.addPlayer("Joe", session)).thenReturn(7);
+
+        handler.handleBinaryMessage(session, new BinaryMessage(new byte[]{BinaryProtocol.REGISTER, 'J', 'o', 'e'}));
+
+        verify(roundManager).addPlayer(eq("Joe"), eq(session));
+        assertEquals("Joe", attributes.get(GameWebSocketHandler.NICKNAME_ATTRIBUTE));
+        assertEquals(7, attributes.get(GameWebSocketHandler.PLAYER_ID_ATTRIBUTE));
+        assertArrayEquals(new byte[]{BinaryProtocol.REGISTERED, 0, 0, 0, 7}, sentBinary());
+    }
+
+    @Test
+    void handleBinaryMessage_betAddedForRegisteredPlayer() throws Exception {
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(registered("Joe", 3));
+
+        handler.handleBinaryMessage(session, new BinaryMessage(bet(5, 12_50)));
+
+        ArgumentCaptor<Bet> captor = ArgumentCaptor.forClass(Bet.class);
+        verify(roundManager).addBet(captor.capture());
+        assertEquals(new Bet("Joe", 5, 1250), captor.getValue());
+        assertEquals(3, captor.getValue().getPlayerId());
+        assertArrayEquals(new byte[]{BinaryProtocol.ACK, BinaryProtocol.BET, BinaryProtocol.STATUS_OK}, sentBinary());
+    }
+
+    @Test
+    void handleBinaryMessage_betRejectedWhenNotRegistered() throws Exception {
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+
+        handler.handleBinaryMessage(session, new BinaryMessage(bet(5, 100)));
+
+        verify(roundManager, never()).addBet(any());
+        assertArrayEquals(new byte[]{BinaryProtocol.ACK, BinaryProtocol.BET, BinaryProtocol.STATUS_NOT_REGISTERED}, sentBinary());
+    }
+
+    @Test
+    void handleBinaryMessage_betRejectedWhenInvalid() throws Exception {
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(registered("Joe", 3));
+
+        handler.handleBinaryMessage(session, new BinaryMessage(bet(11, 100)));
+
+        verify(roundManager, never()).addBet(any());
+        assertArrayEquals(new byte[]{BinaryProtocol.ACK, BinaryProtocol.BET, BinaryProtocol.STATUS_INVALID_BET}, sentBinary());
+    }
+
+    @Test
+    void handleBinaryMessage_malformedNicknameIsAckedWithoutClosingTheSession() throws Exception {
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+
+        handler.handleBinaryMessage(session, new BinaryMessage(new byte[]{BinaryProtocol.REGISTER, 'J', (byte) 0xC3}));
+
+        verify(roundManager, never()).addPlayer(any(), any());
+        verify(session, never()).close(any());
+        assertArrayEquals(new byte[]{BinaryProtocol.ACK, BinaryProtocol.REGISTER, BinaryProtocol.STATUS_MALFORMED}, sentBinary());
+    }
+
+    @Test
+    void handleBinaryMessage_sendErrorWhenSubprotocolNotNegotiated() throws Exception {
+        handler.handleBinaryMessage(session, new BinaryMessage(bet(5, 100)));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        assertTrue(captor.getValue().getPayload().startsWith("ERROR:"));
+        verify(roundManager, never()).addBet(any());
+    }
+
+    @Test
+    void handleTextMessage_joinMovesRegisteredPlayerToTable() throws Exception {
+        RoundManager table = mock(RoundManager.class);
+        TableRegistry tables = new TableRegistry(1, 10, Duration.ofSeconds(10),
+                (tableId, shard) -> TableRegistry.DEFAULT_TABLE.equals(tableId) ? roundManager : table);
+        GameWebSocketHandler tableHandler = new GameWebSocketHandler(tables, new ProtocolProperties());
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        when(roundManager.addPlayer("JohnDoe", session)).thenReturn(1);
+        when(table.addPlayer("JohnDoe", session)).thenReturn(4);
+        when(table.addBet(any())).thenReturn(RoundManager.BetStatus.ACCEPTED);
+
+        try {
+            tableHandler.handleTextMessage(session, new TextMessage("NICKNAME:JohnDoe"));
+            tableHandler.handleTextMessage(session, new TextMessage("JOIN:table-42"));
+            tableHandler.handleTextMessage(session, new TextMessage("BET:{\"nickname\":\"JohnDoe\",\"number\":5,\"amount\":100}"));
+        } finally {
+            tables.shutdown();
+        }
+
+        verify(roundManager).addPlayer("JohnDoe", session);
+        verify(roundManager).removePlayer("JohnDoe", session);
+        verify(table).addPlayer("JohnDoe", session);
+        ArgumentCaptor<Bet> bet = ArgumentCaptor.forClass(Bet.class);
+        verify(table).addBet(bet.capture());
+        assertEquals(4, bet.getValue().getPlayerId());
+        verify(roundManager, never()).addBet(any());
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, atLeastOnce()).sendMessage(captor.capture());
+        List<String> payloads = captor.getAllValues().stream().map(TextMessage::getPayload).toList();
+        assertEquals(List.of("REGISTERED:1", "JOINED:table-42", "REGISTERED:4"), payloads);
+    }
+
+    @Test
+    void handleTextMessage_sendErrorWhenTableIdInvalid() throws Exception {
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+
+        handler.handleTextMessage(session, new TextMessage("JOIN:bad table"));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        assertEquals("ERROR: Invalid table id", captor.getValue().getPayload());
+    }
+
+    @Test
+    void handleTextMessage_joinOfUnlistedTableDoesNotOpenIt() throws Exception {
+        TableRegistry tables = new TableRegistry(1, 10, Duration.ofSeconds(10), (tableId, shard) -> roundManager,
+                tableId -> true, "table-1"::equals);
+        GameWebSocketHandler tableHandler = new GameWebSocketHandler(tables, new ProtocolProperties());
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+
+        try {
+            tableHandler.handleTextMessage(session, new TextMessage("JOIN:table-2"));
+        } finally {
+            tables.shutdown();
+        }
+
+        verify(session).sendMessage(ErrorCode.INVALID_TABLE.frame());
+        assertNull(tables.existingTable("table-2"));
+    }
+
+    @Test
+    void handleTextMessage_betsAddedWithOneLedgerCallAndAcked() throws Exception {
+        when(session.getAttributes()).thenReturn(registered("JohnDoe", 1));
+        TextMessage message = new TextMessage("BETS:[{\"nickname\":\"JohnDoe\",\"number\":5,\"amount\":100},"
+                + "{\"nickname\":\"JohnDoe\",\"number\":11,\"amount\":100},"
+                + "{\"nickname\":\"Ghost\",\"number\":2,\"amount\":100},"
+                + "{\"nickname\":\"JohnDoe\",\"number\":7,\"amount\":50}]");
+
+        handler.handleTextMessage(session, message);
+
+        verify(roundManager).addBets(bets.capture());
+        assertEquals(List.of(new Bet("JohnDoe", 5, 10000), new Bet("JohnDoe", 7, 5000)), bets.getValue());
+        verify(roundManager, never()).addBet(any());
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        assertEquals("BETS_ACK:4:09", captor.getValue().getPayload());
+    }
+
+    @Test
+    void handleBinaryMessage_betsAddedAndAckedWithBitmap() throws Exception {
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(registered("Joe", 3));
+        byte[] frame = ByteBuffer.allocate(1 + 2 + 3 * BinaryProtocol.BATCH_ITEM_LENGTH)
+                .put(BinaryProtocol.BETS).putShort((short) 3)
+                .put((byte) 1).putLong(100)
+                .put((byte) 0).putLong(100)
+                .put((byte) 10).putLong(250)
+                .array();
+
+        handler.handleBinaryMessage(session, new BinaryMessage(frame));
+
+        verify(roundManager).addBets(bets.capture());
+        assertEquals(List.of(new Bet("Joe", 1, 100), new Bet("Joe", 10, 250)), bets.getValue());
+        assertArrayEquals(new byte[]{BinaryProtocol.BETS_ACK, 0, 3, 0b101}, sentBinary());
+    }
+
+    @Test
+    void handleTextMessage_historyReturnsRecentRounds() throws Exception {
+        RoundSummary summary = new RoundSummary(7, 3, 1000, 2, 2000, 9900, 1, List.of());
+        when(roundManager.getHistory(5)).thenReturn(List.of(summary));
+
+        handler.handleTextMessage(session, new TextMessage("HISTORY:5"));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        String payload = captor.getValue().getPayload();
+        assertTrue(payload.startsWith("HISTORY: [{"));
+        assertTrue(payload.contains("\"round\":7"));
+        assertTrue(payload.contains("\"winningNumber\":3"));
     }
 
+    @Test
+    void handleTextMessage_roundWinnersReturnsRequestedPage() throws Exception {
+        WinnersPage page = new WinnersPage(42, 1, 100, 150, List.of(new Player("Alice", 990, null)));
+        when(roundManager.getWinners(42, 1, 100)).thenReturn(page);
+
+        handler.handleTextMessage(session, new TextMessage("ROUND_WINNERS:42:1"));
+        handler.handleTextMessage(session, new TextMessage("ROUND_WINNERS:41"));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(2)).sendMessage(captor.capture());
+        String payload = captor.getAllValues().get(0).getPayload();
+        assertTrue(payload.startsWith("ROUND_WINNERS: {"));
+        assertTrue(payload.contains("\"total\":150"));
+        assertTrue(payload.contains("\"amount\":9.90"));
+        assertSame(ErrorCode.WINNERS_UNAVAILABLE.frame(), captor.getAllValues().get(1));
+    }
+
+    @Test
+    void handleTextMessage_historyRejectsInvalidSize() throws Exception {
+        handler.handleTextMessage(session, new TextMessage("HISTORY:abc"));
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        assertEquals("ERROR: Invalid history size", captor.getValue().getPayload());
+        verify(roundManager, never()).getHistory(anyInt());
+    }
+
+    @Test
+    void handleTextMessage_registrationReturnsPlayerIdUsedForBets() throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getAttributes()).thenReturn(attributes);
+        when(roundManager.addPlayer("JohnDoe", session)).thenReturn(5);
+
+        handler.handleTextMessage(session, new TextMessage("NICKNAME:JohnDoe"));
+        handler.handleTextMessage(session, new TextMessage("BET:{\"nickname\":\"JohnDoe\",\"number\":5,\"amount\":100}"));
+
+        ArgumentCaptor<TextMessage> messages = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(messages.capture());
+        assertEquals("REGISTERED:5", messages.getValue().getPayload());
+        ArgumentCaptor<Bet> bet = ArgumentCaptor.forClass(Bet.class);
+        verify(roundManager).addBet(bet.capture());
+        assertEquals(5, bet.getValue().getPlayerId());
+        verify(roundManager, never()).playerId(any());
+    }
+
+    @Test
+    void handleTextMessage_betsOverSessionLimitAreRejected() throws Exception {
+        IntakeProperties intake = new IntakeProperties();
+        intake.setBetsPerSecond(1);
+        intake.setBetBurst(2);
+        GameWebSocketHandler limited = new GameWebSocketHandler(TableRegistry.single(roundManager),
+                new ProtocolProperties(), intake, IntakeGate.unbounded(), GameMetrics.NOOP);
+        when(session.getAttributes()).thenReturn(registered("JohnDoe", 1));
+        limited.afterConnectionEstablished(session);
+        TextMessage bet = new TextMessage("BET:{\"nickname\":\"JohnDoe\",\"number\":5,\"amount\":1}");
+
+        for (int i = 0; i < 3; i++) {
+            limited.handleTextMessage(session, bet);
+        }
+
+        verify(roundManager, times(2)).addBet(any());
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        assertEquals("ERROR: Rate limit exceeded", captor.getValue().getPayload());
+    }
+
+    @Test
+    void handleBinaryMessage_commandsOverSessionLimitDisconnectUnderDisconnectPolicy() throws Exception {
+        IntakeProperties intake = new IntakeProperties();
+        intake.setCommandsPerSecond(1);
+        intake.setCommandBurst(1);
+        intake.setOverflowPolicy(IntakePolicy.DISCONNECT);
+        GameWebSocketHandler limited = new GameWebSocketHandler(TableRegistry.single(roundManager),
+                new ProtocolProperties(), intake, IntakeGate.unbounded(), GameMetrics.NOOP);
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(registered("Joe", 3));
+        limited.afterConnectionEstablished(session);
+
+        limited.handleBinaryMessage(session, new BinaryMessage(bet(5, 100)));
+        limited.handleBinaryMessage(session, new BinaryMessage(bet(5, 100)));
+
+        verify(roundManager, times(1)).addBet(any());
+        verify(session).close(argThat(status -> status.getCode() == CloseStatus.POLICY_VIOLATION.getCode()));
+    }
+
+    @Test
+    void handleBinaryMessage_betsShedWhileIntakeIsSaturated() throws Exception {
+        IntakeGate gate = new IntakeGate(10);
+        gate.added(10);
+        GameWebSocketHandler shedding = new GameWebSocketHandler(TableRegistry.single(roundManager),
+                new ProtocolProperties(), new IntakeProperties(), gate, GameMetrics.NOOP);
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+        when(session.getAttributes()).thenReturn(registered("Joe", 3));
+
+        shedding.handleBinaryMessage(session, new BinaryMessage(bet(5, 100)));
+
+        verify(roundManager, never()).addBet(any());
+        assertArrayEquals(new byte[]{BinaryProtocol.ACK, BinaryProtocol.BET, BinaryProtocol.STATUS_BUSY}, sentBinary());
+    }
+
+    private static Map<String, Object> registered(String nickname, int playerId) {
+        return new HashMap<>(Map.of(GameWebSocketHandler.NICKNAME_ATTRIBUTE, nickname,
+                GameWebSocketHandler.PLAYER_ID_ATTRIBUTE, playerId));
+    }
+
+    private static byte[] bet(int number, long amount) {
+        return ByteBuffer.allocate(BinaryProtocol.BET_LENGTH)
+                .put(BinaryProtocol.BET).put((byte) number).putLong(amount).array();
+    }
+
+    private byte[] sentBinary() throws Exception {
+        ArgumentCaptor<BinaryMessage> captor = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(session).sendMessage(captor.capture());
+        ByteBuffer payload = captor.getValue().getPayload();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return bytes;
+    }
 }
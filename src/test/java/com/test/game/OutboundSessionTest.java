@@ -0,0 +1,136 @@
+package com.test.game;
+
+import com.test.game.config.OutboundProperties;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.outbound.OutboundSession;
+import com.test.game.outbound.OverflowPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundSessionTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor = tasks::add;
+    private WebSocketSession delegate;
+    private OutboundProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WebSocketSession.class);
+        when(delegate.isOpen()).thenReturn(true);
+        properties = new OutboundProperties();
+        properties.setBufferSizeLimit(2);
+    }
+
+    @Test
+    void sendMessage_doesNotSendOnCallerThread() throws Exception {
+        OutboundSession session = new OutboundSession(delegate, properties, executor);
+
+        session.sendMessage(new TextMessage("LOSE"));
+
+        verify(delegate, never()).sendMessage(any());
+        assertEquals(1, session.getQueueDepth());
+    }
+
+    @Test
+    void sendMessage_drainsQueuedMessagesInOrder() throws Exception {
+        OutboundSession session = new OutboundSession(delegate, properties, executor);
+
+        session.sendMessage(new TextMessage("WIN: 99.0"));
+        session.sendMessage(new TextMessage("WINNERS: {}"));
+        runTasks();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(delegate, times(2)).sendMessage(captor.capture());
+        List<TextMessage> messages = captor.getAllValues();
+        assertEquals("WIN: 99.0", messages.get(0).getPayload());
+        assertEquals("WINNERS: {}", messages.get(1).getPayload());
+        assertEquals(0, session.getQueueDepth());
+    }
+
+    @Test
+    void sendMessage_dropsMessagesOverBufferLimitWhenPolicyIsDrop() throws Exception {
+        properties.setOverflowPolicy(OverflowPolicy.DROP);
+        OutboundSession session = new OutboundSession(delegate, properties, executor);
+
+        session.sendMessage(new TextMessage("1"));
+        session.sendMessage(new TextMessage("2"));
+        session.sendMessage(new TextMessage("3"));
+        runTasks();
+
+        verify(delegate, times(2)).sendMessage(any());
+        verify(delegate, never()).close(any());
+        assertEquals(1, session.getDroppedCount());
+    }
+
+    @Test
+    void sendMessage_closesSessionOverBufferLimitWhenPolicyIsDisconnect() throws Exception {
+        OutboundSession session = new OutboundSession(delegate, properties, executor);
+
+        session.sendMessage(new TextMessage("1"));
+        session.sendMessage(new TextMessage("2"));
+        session.sendMessage(new TextMessage("3"));
+        runTasks();
+
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(delegate, never()).sendMessage(any());
+        assertEquals(0, session.getQueueDepth());
+    }
+
+    @Test
+    void sendMessage_keepsDrainingAfterFailedSend() throws Exception {
+        doThrow(new java.io.IOException("Simulated error")).doNothing().when(delegate).sendMessage(any());
+        OutboundSession session = new OutboundSession(delegate, properties, executor);
+
+        session.sendMessage(new TextMessage("1"));
+        session.sendMessage(new TextMessage("2"));
+        runTasks();
+
+        verify(delegate, times(2)).sendMessage(any());
+        assertEquals(1, session.getFailedCount());
+    }
+
+    @Test
+    void sendMessage_recordsDeliveryMetrics() throws Exception {
+        doThrow(new java.io.IOException("Simulated error")).doNothing().when(delegate).sendMessage(any());
+        properties.setOverflowPolicy(OverflowPolicy.DROP);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        OutboundSession session = new OutboundSession(delegate, properties, executor, new GameMetrics(registry));
+
+        session.sendMessage(new TextMessage("1"));
+        session.sendMessage(new TextMessage("2"));
+        session.sendMessage(new TextMessage("3"));
+        runTasks();
+
+        assertEquals(2, registry.get("game.outbound.send").timer().count());
+        assertEquals(1, registry.get("game.outbound.failed").counter().count());
+        assertEquals(1, registry.get("game.outbound.dropped").counter().count());
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.test.game;
+
+import com.test.game.outcome.BatchedOutcomeSource;
+import com.test.game.outcome.CommitRevealOutcomeSource;
+import com.test.game.outcome.GeneratorOutcomeSource;
+import com.test.game.outcome.OutcomeSource;
+import com.test.game.outcome.OutcomeSource.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutcomeSourceTest {
+
+    @Test
+    void generatorSource_drawsWithinRange() {
+        OutcomeSource source = new GeneratorOutcomeSource(new SplittableRandom(1));
+
+        for (int round = 1; round <= 1000; round++) {
+            Outcome outcome = source.draw(round, 1, 10);
+            assertTrue(outcome.winningNumber() >= 1 && outcome.winningNumber() <= 10);
+            assertNull(outcome.seed());
+        }
+        assertNull(source.commitment(1));
+    }
+
+    @Test
+    void batchedSource_refillsOncePerBatch() {
+        RandomGenerator generator = mock(RandomGenerator.class);
+        when(generator.nextInt(10)).thenReturn(0, 1, 2, 3);
+        OutcomeSource source = new BatchedOutcomeSource(generator, 2);
+
+        assertEquals(1, source.draw(1, 1, 10).winningNumber());
+        assertEquals(2, source.draw(2, 1, 10).winningNumber());
+        verify(generator, times(2)).nextInt(10);
+        assertEquals(3, source.draw(3, 1, 10).winningNumber());
+        verify(generator, times(4)).nextInt(10);
+    }
+
+    @Test
+    void batchedSource_discardsBatchWhenRangeChanges() {
+        OutcomeSource source = new BatchedOutcomeSource(new SplittableRandom(1), 16);
+
+        source.draw(1, 1, 10);
+        int number = source.draw(2, 100, 101).winningNumber();
+
+        assertTrue(number == 100 || number == 101);
+    }
+
+    @Test
+    void commitRevealSource_revealsSeedMatchingCommitment() {
+        CommitRevealOutcomeSource source = new CommitRevealOutcomeSource();
+
+        String commitment = source.commitment(7);
+        Outcome outcome = source.draw(7, 1, 10);
+
+        assertEquals(commitment, CommitRevealOutcomeSource.hash(outcome.seed()));
+        assertEquals(CommitRevealOutcomeSource.winningNumber(outcome.seed(), 7, 1, 10), outcome.winningNumber());
+        assertNotEquals(commitment, source.commitment(8));
+    }
+
+    @Test
+    void commitRevealSource_drawsWithoutPriorCommitment() {
+        Outcome outcome = new CommitRevealOutcomeSource().draw(1, 1, 10);
+
+        assertTrue(outcome.winningNumber() >= 1 && outcome.winningNumber() <= 10);
+        assertEquals(64, outcome.seed().length());
+    }
+}
@@ -0,0 +1,83 @@
+package com.test.game;
+
+import com.test.game.player.PlayerRegistry;
+import com.test.game.wallet.Wallet;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerRegistryTest {
+
+    private final PlayerRegistry registry = new PlayerRegistry();
+    private final Wallet wallet = new Wallet();
+
+    @Test
+    void register_assignsDenseIdsStartingAtOne() {
+        for (int i = 0; i < 200; i++) {
+            String nickname = "player-" + i;
+            assertEquals(i + 1, registry.register(nickname, mock(WebSocketSession.class), wallet.account(nickname)));
+        }
+        assertEquals("player-199", registry.nickname(200));
+    }
+
+    @Test
+    void register_keepsIdOfReconnectingPlayer() {
+        WebSocketSession first = mock(WebSocketSession.class);
+        WebSocketSession second = mock(WebSocketSession.class);
+        int id = registry.register("Alice", first, wallet.account("Alice"));
+
+        registry.unregister("Alice", first);
+        assertEquals(PlayerRegistry.NO_PLAYER, registry.id("Alice"));
+        assertNull(registry.session(id));
+
+        assertEquals(id, registry.register("Alice", second, wallet.account("Alice")));
+        assertSame(second, registry.session(id));
+    }
+
+    @Test
+    void register_refusesNicknameHeldByAnotherOpenSession() {
+        WebSocketSession owner = mock(WebSocketSession.class);
+        when(owner.isOpen()).thenReturn(true);
+        int id = registry.register("Bob", owner, wallet.account("Bob"));
+
+        assertEquals(PlayerRegistry.NO_PLAYER, registry.register("Bob", mock(WebSocketSession.class), wallet.account("Bob")));
+        assertSame(owner, registry.session(id));
+        assertEquals(id, registry.register("Bob", owner, wallet.account("Bob")));
+    }
+
+    @Test
+    void unregister_ignoresStaleSession() {
+        WebSocketSession stale = mock(WebSocketSession.class);
+        WebSocketSession current = mock(WebSocketSession.class);
+        registry.register("Alice", stale, wallet.account("Alice"));
+        int id = registry.register("Alice", current, wallet.account("Alice"));
+
+        registry.unregister("Alice", stale);
+
+        assertSame(current, registry.session(id));
+    }
+
+    @Test
+    void forEachSession_visitsConnectedPlayersOnly() {
+        WebSocketSession alice = mock(WebSocketSession.class);
+        WebSocketSession bob = mock(WebSocketSession.class);
+        registry.register("Alice", alice, wallet.account("Alice"));
+        registry.register("Bob", bob, wallet.account("Bob"));
+        registry.unregister("Alice", alice);
+
+        List<WebSocketSession> visited = new ArrayList<>();
+        registry.forEachSession(visited::add);
+
+        assertEquals(List.of(bob), visited);
+        assertNull(registry.session(PlayerRegistry.NO_PLAYER));
+        assertNull(registry.session(99));
+    }
+}
@@ -1,50 +1,68 @@
 package com.test.game;
 
+import com.test.game.load.RtpSimulator;
+import com.test.game.payout.PayoutTable;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Random;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class RTPSimulationTest {
     private static final Logger log = LoggerFactory.getLogger(RTPSimulationTest.class);
 
     @Test
-    void simulateMillionRounds() throws InterruptedException, ExecutionException {
-        int rounds = 1_000_000;
-        double totalWon = 0;
-
-        try (ExecutorService executor = Executors.newFixedThreadPool(24)) {
-            List<Callable<Double>> tasks = IntStream.range(0, rounds)
-                    .mapToObj(i -> (Callable<Double>) () -> {
-                        int betNumber = new Random().nextInt(10) + 1;
-                        int winNumber = new Random().nextInt(10) + 1;
-                        return betNumber == winNumber ? 9.9 : 0;
-                    }).collect(Collectors.toList());
-
-            try {
-                List<Future<Double>> results = executor.invokeAll(tasks);
-                for (Future<Double> future : results) {
-                    totalWon += future.get();
-                }
-                double rtp = (totalWon / (double) rounds) * 100;
-                log.info("Spent: {}, Won: {}, RTP: {}%",
-                        String.format("%.2f", (double) rounds),
-                        String.format("%.2f", totalWon),
-                        String.format("%.2f", rtp));
-            } finally {
-                executor.shutdown();
-            }
-        }
+    void simulateMillionRounds() {
+        PayoutTable table = PayoutTable.standard();
+
+        RtpSimulator.Result result = new RtpSimulator(table).simulate(1_000_000, 42);
+        log.info("Standard table: {}", result);
+
+        assertEquals(0.99, table.theoreticalRtp(), 1e-12);
+        assertTrue(Math.abs(result.rtp() - table.theoreticalRtp()) < 4 * result.standardError(),
+                "Simulated RTP too far from theoretical: " + result);
+        assertEquals(0.99 * 9.9 - 0.99 * 0.99, result.variance(), 0.05);
+    }
+
+    @Test
+    void payoutTableFollowsTheTableProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("game.tables.min-number", "0");
+        properties.setProperty("game.tables.max-number", "36");
+        properties.setProperty("game.tables.payout-multiplier", "36");
+        properties.setProperty("game.tables.payout-multipliers.0", "18");
+
+        PayoutTable table = RtpSimulator.payoutTable(properties);
+
+        assertEquals(0, table.minNumber());
+        assertEquals(36, table.maxNumber());
+        assertEquals((36 * 36 + 18) / (37.0 * 37), table.theoreticalRtp(), 1e-12);
+        assertEquals(PayoutTable.standard().theoreticalRtp(),
+                RtpSimulator.payoutTable(new Properties()).theoreticalRtp(), 1e-12);
+    }
+
+    @Test
+    void simulateRespectsMultiplierOverrides() {
+        PayoutTable table = PayoutTable.of(1, 20, 19.0, Map.of(7, 39.0));
+
+        RtpSimulator.Result result = new RtpSimulator(table).simulate(10_000_000, 7);
+        log.info("Custom table: {}", result);
+
+        assertEquals((19 * 19 + 39) / 400.0, table.theoreticalRtp(), 1e-12);
+        assertTrue(result.ciLow() < result.rtp() && result.rtp() < result.ciHigh());
+        assertTrue(Math.abs(result.rtp() - table.theoreticalRtp()) < 4 * result.standardError(),
+                "Simulated RTP too far from theoretical: " + result);
     }
 
+    @Test
+    void simulateIsReproducibleForSeed() {
+        RtpSimulator simulator = new RtpSimulator(PayoutTable.standard());
+
+        assertEquals(simulator.simulate(5_000_000, 1).rtp(), simulator.simulate(5_000_000, 1).rtp());
+    }
 }
@@ -0,0 +1,224 @@
+package com.test.game;
+
+import com.test.game.cluster.LoopbackRoundBus;
+import com.test.game.cluster.RoundBus;
+import com.test.game.cluster.RoundClosed;
+import com.test.game.cluster.RoundDistribution;
+import com.test.game.cluster.RoundMessage;
+import com.test.game.cluster.RoundOutcome;
+import com.test.game.cluster.TcpRoundBus;
+import com.test.game.dto.Bet;
+import com.test.game.history.RoundHistory;
+import com.test.game.ledger.RoundPhase;
+import com.test.game.outcome.CommitRevealOutcomeSource;
+import com.test.game.outcome.OutcomeSource;
+import com.test.game.payout.PayoutTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoundDistributionTest {
+
+    private static final String TABLE = TableRegistry.DEFAULT_TABLE;
+    private static final byte[] SECRET = "round-bus-test-secret".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void follower_settlesItsOwnBetsWithTheLeadersOutcome() throws Exception {
+        LoopbackRoundBus bus = new LoopbackRoundBus();
+        int leaderIndex = Math.floorMod(TABLE.hashCode(), 2);
+        RoundDistribution leaderNode = new RoundDistribution(leaderIndex, 2, bus.node());
+        RoundDistribution followerNode = new RoundDistribution(1 - leaderIndex, 2, bus.node());
+        TableRegistry leader = registry(leaderNode);
+        TableRegistry follower = registry(followerNode);
+        try {
+            WebSocketSession session = mock(WebSocketSession.class);
+            when(session.isOpen()).thenReturn(true);
+            RoundManager followerTable = follower.table(TABLE);
+            followerTable.addPlayer("Alice", session);
+            for (int number = 1; number <= 10; number++) {
+                followerTable.addBet(new Bet("Alice", number, 100));
+            }
+
+            leader.table(TABLE).resolveRound();
+
+            verify(session, timeout(2000).times(2)).sendMessage(any());
+            int leaderNumber = leader.table(TABLE).getHistory(1).get(0).getWinningNumber();
+            assertEquals(leaderNumber, followerTable.getHistory(1).get(0).getWinningNumber());
+            assertEquals(1, followerTable.getHistory(1).get(0).getWinnerCount());
+        } finally {
+            leader.shutdown();
+            follower.shutdown();
+        }
+    }
+
+    @Test
+    void follower_publishesUnderTheLeadersRoundIdSoTheSeedVerifies() throws Exception {
+        LoopbackRoundBus bus = new LoopbackRoundBus();
+        int leaderIndex = Math.floorMod(TABLE.hashCode(), 2);
+        TableRegistry leader = registry(new RoundDistribution(leaderIndex, 2, bus.node()));
+        RoundDistribution followerNode = new RoundDistribution(1 - leaderIndex, 2, bus.node());
+        BlockingQueue<RoundOutcome> published = new LinkedBlockingQueue<>();
+        bus.node().subscribe(message -> {
+            if (message instanceof RoundOutcome outcome) {
+                published.add(outcome);
+            }
+        });
+        try {
+            leader.table(TABLE).resolveRound();
+            assertEquals(1, published.poll(5, TimeUnit.SECONDS).round());
+            TableRegistry follower = registry(followerNode);
+            try {
+                RoundManager followerTable = follower.table(TABLE);
+                followerTable.addPlayer("Alice", mock(WebSocketSession.class));
+                followerTable.addBet(new Bet("Alice", 1, 100));
+
+                leader.table(TABLE).resolveRound();
+
+                RoundOutcome outcome = published.poll(5, TimeUnit.SECONDS);
+                assertEquals(2, outcome.round());
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (followerTable.getHistory(1).isEmpty() && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(2, followerTable.getHistory(1).get(0).getRound());
+                assertEquals(CommitRevealOutcomeSource.winningNumber(outcome.seed(), 2, 1, 10),
+                        followerTable.getHistory(1).get(0).getWinningNumber());
+                assertNotNull(followerTable.getWinners(2, 0, 10));
+            } finally {
+                follower.shutdown();
+            }
+        } finally {
+            leader.shutdown();
+        }
+    }
+
+    @Test
+    void follower_closesItsRoundWhenTheLeaderDoesAndSettlesItWithTheOutcome() throws Exception {
+        LoopbackRoundBus bus = new LoopbackRoundBus();
+        int leaderIndex = Math.floorMod(TABLE.hashCode(), 2);
+        RoundBus leaderBus = bus.node();
+        TableRegistry follower = registry(new RoundDistribution(1 - leaderIndex, 2, bus.node()));
+        try {
+            RoundManager followerTable = follower.table(TABLE);
+            followerTable.addPlayer("Alice", mock(WebSocketSession.class));
+            followerTable.addBet(new Bet("Alice", 1, 100));
+
+            leaderBus.publish(new RoundClosed(TABLE, 5, null));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (followerTable.phase(1) == RoundPhase.OPEN && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            followerTable.addBet(new Bet("Alice", 2, 100));
+            followerTable.addBet(new Bet("Alice", 1, 100));
+            leaderBus.publish(new RoundOutcome(TABLE, 5, 1, null, null));
+
+            while (followerTable.getHistory(1).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(5, followerTable.getHistory(1).get(0).getRound());
+            assertEquals(1, followerTable.getHistory(1).get(0).getBetCount());
+            assertEquals(RoundPhase.OPEN, followerTable.phase(2));
+        } finally {
+            follower.shutdown();
+        }
+    }
+
+    @Test
+    void scheduleResolve_rejectsOutcomeOffTheTableBeforeClosingTheRound() {
+        ScheduledExecutorService shard = mock(ScheduledExecutorService.class);
+        RoundManager table = RoundManager.builder().tableId(TABLE).scheduler(shard).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> table.scheduleResolve(7, new OutcomeSource.Outcome(11, null), null));
+        verify(shard, never()).execute(any());
+    }
+
+    @Test
+    void leads_splitsTablesBetweenNodes() {
+        RoundDistribution first = new RoundDistribution(0, 2, RoundBus.NONE);
+        RoundDistribution second = new RoundDistribution(1, 2, RoundBus.NONE);
+
+        for (String tableId : List.of("main", "table-1", "table-2", "table-3")) {
+            assertTrue(first.leads(tableId) ^ second.leads(tableId));
+        }
+        assertTrue(RoundDistribution.STANDALONE.leads("table-1"));
+    }
+
+    @Test
+    void tcpBus_hubRelaysMessagesBetweenNodes() throws Exception {
+        try (TcpRoundBus hub = TcpRoundBus.hub("127.0.0.1", 0, SECRET);
+             TcpRoundBus first = TcpRoundBus.connect("localhost", hub.port(), SECRET);
+             TcpRoundBus second = TcpRoundBus.connect("localhost", hub.port(), SECRET)) {
+            BlockingQueue<RoundMessage> atHub = new LinkedBlockingQueue<>();
+            BlockingQueue<RoundMessage> atSecond = new LinkedBlockingQueue<>();
+            BlockingQueue<RoundMessage> atFirst = new LinkedBlockingQueue<>();
+            hub.subscribe(atHub::add);
+            first.subscribe(atFirst::add);
+            second.subscribe(atSecond::add);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((hub.connections() < 2 || first.connections() < 1 || second.connections() < 1)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            RoundClosed closed = new RoundClosed("table-7", 12, "c0ffee");
+            RoundOutcome outcome = new RoundOutcome("table-7", 12, 4, null, "c0ffee");
+
+            first.publish(closed);
+            first.publish(outcome);
+
+            assertEquals(closed, atHub.poll(5, TimeUnit.SECONDS));
+            assertEquals(outcome, atHub.poll(5, TimeUnit.SECONDS));
+            assertEquals(closed, atSecond.poll(5, TimeUnit.SECONDS));
+            assertEquals(outcome, atSecond.poll(5, TimeUnit.SECONDS));
+            assertNull(atFirst.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void tcpBus_dropsNodesWithoutTheSharedSecret() throws Exception {
+        byte[] otherSecret = "another-secret-of-16-bytes".getBytes(StandardCharsets.UTF_8);
+        try (TcpRoundBus hub = TcpRoundBus.hub("127.0.0.1", 0, SECRET);
+             TcpRoundBus intruder = TcpRoundBus.connect("localhost", hub.port(), otherSecret)) {
+            BlockingQueue<RoundMessage> atHub = new LinkedBlockingQueue<>();
+            hub.subscribe(atHub::add);
+
+            intruder.publish(new RoundOutcome("table-7", 12, 4, null, null));
+
+            assertNull(atHub.poll(500, TimeUnit.MILLISECONDS));
+            assertEquals(0, hub.connections());
+            assertEquals(0, intruder.connections());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> TcpRoundBus.connect("localhost", 7400, "short".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static TableRegistry registry(RoundDistribution distribution) {
+        PayoutTable payoutTable = PayoutTable.standard();
+        TableRegistry registry = new TableRegistry(1, 10, Duration.ofHours(1),
+                (tableId, shard) -> RoundManager.builder().tableId(tableId).scheduler(shard)
+                        .outcomes(distribution.outcomeSource(tableId, new CommitRevealOutcomeSource()))
+                        .history(new RoundHistory(10)).payoutTable(payoutTable).build(),
+                distribution::leads, tableId -> true);
+        distribution.attach(registry);
+        return registry;
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.game;
+
+import com.test.game.dto.Player;
+import com.test.game.dto.RoundSummary;
+import com.test.game.history.RoundHistory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoundHistoryTest {
+
+    @Test
+    void latest_returnsRecordedRoundsNewestFirst() {
+        RoundHistory history = new RoundHistory(10);
+        history.record(1, 4, 1000, 3, 3000, 0, 0, List.of());
+        history.record(2, 7, 2000, 2, 2000, 9900, 1, List.of(new Player("Alice", 9900, null)));
+
+        List<RoundSummary> rounds = history.latest(5);
+
+        assertEquals(2, rounds.size());
+        RoundSummary latest = rounds.get(0);
+        assertEquals(2, latest.getRound());
+        assertEquals(7, latest.getWinningNumber());
+        assertEquals(2000, latest.getTimestamp());
+        assertEquals(2, latest.getBetCount());
+        assertEquals(2000, latest.getTotalStake());
+        assertEquals(9900, latest.getTotalPayout());
+        assertEquals(1, latest.getWinnerCount());
+        assertEquals(List.of(new Player("Alice", 9900, null)), latest.getTopWinners());
+        assertEquals(1, rounds.get(1).getRound());
+    }
+
+    @Test
+    void latest_keepsOnlyLastCapacityRounds() {
+        RoundHistory history = new RoundHistory(3);
+        for (int round = 1; round <= 5; round++) {
+            history.record(round, 1, round, 0, 0, 0, 0, List.of());
+        }
+
+        List<RoundSummary> rounds = history.latest(10);
+
+        assertEquals(List.of(5L, 4L, 3L), rounds.stream().map(RoundSummary::getRound).toList());
+    }
+
+    @Test
+    void record_keepsTopWinnersAndTruncatesLongNicknames() {
+        RoundHistory history = new RoundHistory(1);
+        String longNickname = "x".repeat(40);
+        history.record(1, 1, 0, 4, 400, 3960, 4, List.of(
+                new Player(longNickname, 990, null), new Player("b", 990, null),
+                new Player("c", 990, null), new Player("d", 990, null)));
+
+        List<Player> winners = history.latest(1).get(0).getTopWinners();
+
+        assertEquals(RoundHistory.TOP_WINNERS, winners.size());
+        assertTrue(longNickname.startsWith(winners.get(0).getNickname()));
+        assertEquals(31, winners.get(0).getNickname().length());
+    }
+
+    @Test
+    void record_truncatesNicknamesOnCodePointBoundaries() {
+        RoundHistory history = new RoundHistory(1);
+        history.record(1, 1, 0, 3, 300, 2970, 3, List.of(
+                new Player("é".repeat(16), 990, null), new Player("x".repeat(29) + "€", 990, null),
+                new Player("Zoë \uD83C\uDFB2", 990, null)));
+
+        List<Player> winners = history.latest(1).get(0).getTopWinners();
+
+        assertEquals("é".repeat(15), winners.get(0).getNickname());
+        assertEquals("x".repeat(29), winners.get(1).getNickname());
+        assertEquals("Zoë \uD83C\uDFB2", winners.get(2).getNickname());
+    }
+
+    @Test
+    void latest_returnsEmptyListBeforeFirstRound() {
+        assertTrue(new RoundHistory(4).latest(4).isEmpty());
+    }
+}
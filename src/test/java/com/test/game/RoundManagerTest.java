@@ -1,21 +1,49 @@
 package com.test.game;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.test.game.dto.Bet;
+import com.test.game.dto.PlayerResult;
+import com.test.game.dto.Player;
+import com.test.game.dto.RoundResultResponse;
+import com.test.game.dto.WinnersPage;
+import com.test.game.history.RoundHistory;
+import com.test.game.intake.IntakeGate;
+import com.test.game.journal.BetJournal;
+import com.test.game.journal.RecoveredBet;
+import com.test.game.ledger.RoundPhase;
+import com.test.game.metrics.GameMetrics;
+import com.test.game.outcome.CommitRevealOutcomeSource;
+import com.test.game.outcome.OutcomeSource;
+import com.test.game.protocol.BinaryProtocol;
+import com.test.game.protocol.ErrorCode;
+import com.test.game.wallet.Wallet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
@@ -33,7 +61,7 @@ class RoundManagerTest {
 
     @BeforeEach
     void setUp() {
-        roundManager = new RoundManager();
+        roundManager = RoundManager.builder().build();
         session = mock(WebSocketSession.class);
     }
 
@@ -44,8 +72,9 @@ class RoundManagerTest {
 
     @Test
     void addBet_betAddedSuccessfully() {
-        Bet bet = new Bet("Alice", 5, 100);
-        assertDoesNotThrow(() -> roundManager.addBet(bet));
+        roundManager.addPlayer("Alice", session);
+        Bet bet = new Bet("Alice", 5, 10000);
+        assertEquals(RoundManager.BetStatus.ACCEPTED, roundManager.addBet(bet));
     }
 
     @Test
@@ -53,7 +82,7 @@ class RoundManagerTest {
         when(session.isOpen()).thenReturn(true);
 
         roundManager.addPlayer("Bob", session);
-        roundManager.addBet(new Bet("Bob", 7, 10.0));
+        roundManager.addBet(new Bet("Bob", 7, 1000));
 
         roundManager.resolveRound();
 
@@ -62,8 +91,10 @@ class RoundManagerTest {
 
     @Test
     void resolveRound_doesNotSendMessagesForUnknownPlayer() throws Exception {
-        roundManager.addBet(new Bet("Ghost", 3, 5.0));
+        assertEquals(RoundManager.BetStatus.NOT_REGISTERED, roundManager.addBet(new Bet("Ghost", 3, 500)));
+        assertEquals(List.of(new Bet("Ghost", 4, 500)), roundManager.addBets(List.of(new Bet("Ghost", 4, 500))));
         roundManager.resolveRound();
+        assertEquals(0, roundManager.getHistory(1).get(0).getBetCount());
         verify(session, never()).sendMessage(any());
     }
 
@@ -71,7 +102,7 @@ class RoundManagerTest {
     void resolveRound_doesNotSendMessagesWhenSessionClosed() throws Exception {
         when(session.isOpen()).thenReturn(false);
         roundManager.addPlayer("Carol", session);
-        roundManager.addBet(new Bet("Carol", 2, 10.0));
+        roundManager.addBet(new Bet("Carol", 2, 1000));
         roundManager.resolveRound();
         verify(session, never()).sendMessage(any());
     }
@@ -83,13 +114,147 @@ class RoundManagerTest {
         doThrow(new java.io.IOException("Simulated error")).when(badSession).sendMessage(any());
 
         roundManager.addPlayer("FailUser", badSession);
-        roundManager.addBet(new Bet("FailUser", 1, 10.0));
+        roundManager.addBet(new Bet("FailUser", 1, 1000));
 
         roundManager.resolveRound();
 
         verify(badSession, atLeastOnce()).sendMessage(any());
     }
 
+    @Test
+    void resolveRound_journalsAcceptedBetsAndSettledRound() throws Exception {
+        BetJournal journal = mock(BetJournal.class);
+        Random mockRandom = mock(Random.class);
+        when(mockRandom.nextInt(10)).thenReturn(2);
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).random(mockRandom).journal(journal).build();
+        manager.addPlayer("Alice", session);
+        Bet bet = new Bet("Alice", 5, 1000);
+
+        manager.addBet(bet);
+        manager.resolveRound();
+
+        verify(journal).betAccepted("table-1", 1, bet);
+        verify(journal).roundSettled("table-1", 1, 3);
+    }
+
+    @Test
+    void closeRound_journalsBetBeforeSettlingTheRoundItLandedIn() throws Exception {
+        List<String> records = new CopyOnWriteArrayList<>();
+        CountDownLatch journaling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BetJournal journal = new BetJournal() {
+            @Override
+            public void betAccepted(String tableId, long round, Bet bet) {
+                journaling.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                records.add("BET:" + round);
+            }
+
+            @Override
+            public void betRestored(String tableId, long round, RecoveredBet recovered) {
+            }
+
+            @Override
+            public void roundSettled(String tableId, long round, int winningNumber) {
+                records.add("SETTLED:" + round);
+            }
+        };
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).journal(journal).build();
+        manager.addPlayer("Alice", session);
+
+        Thread bettor = new Thread(() -> assertDoesNotThrow(() -> manager.addBet(new Bet("Alice", 5, 1000))));
+        bettor.start();
+        assertTrue(journaling.await(5, TimeUnit.SECONDS));
+        Thread closer = new Thread(manager::closeRound);
+        closer.start();
+        closer.join(200);
+        release.countDown();
+        bettor.join();
+        closer.join();
+
+        assertEquals(List.of("BET:1", "SETTLED:1"), records);
+    }
+
+    @Test
+    void resolveRound_recordsIntakeAndSettlementMetrics() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        GameMetrics metrics = new GameMetrics(registry);
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).history(new RoundHistory(10))
+                .metrics(metrics.table("table-1")).build();
+        metrics.table("table-2");
+
+        manager.addPlayer("Alice", session);
+        manager.addPlayer("Bob", session);
+        manager.addBet(new Bet("Alice", 5, 1000));
+        manager.addBets(List.of(new Bet("Bob", 3, 1000), new Bet("Bob", 4, 1000)));
+        manager.resolveRound();
+
+        assertEquals(3, registry.get("game.bets").tag("table", "table-1").counter().count());
+        assertEquals(1, registry.get("game.round.settlement").timer().count());
+        assertEquals(3, registry.get("game.round.bets").summary().totalAmount());
+        assertEquals(1, registry.find("game.round.settlement").timers().size());
+    }
+
+    @Test
+    void resolveRound_revealsSeedAndPublishesNextCommitmentInCommitRevealMode() throws Exception {
+        CommitRevealOutcomeSource outcomes = new CommitRevealOutcomeSource();
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).outcomes(outcomes)
+                .history(new RoundHistory(10)).build();
+        String commitment = outcomes.commitment(1);
+        when(session.isOpen()).thenReturn(true);
+        manager.addPlayer("Alice", session);
+
+        manager.resolveRound();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(2)).sendMessage(captor.capture());
+        JsonNode result = new ObjectMapper().readTree(captor.getAllValues().get(1).getPayload().substring("WINNERS: ".length()));
+        assertEquals(commitment, CommitRevealOutcomeSource.hash(result.get("seed").asText()));
+        assertEquals(CommitRevealOutcomeSource.winningNumber(result.get("seed").asText(), 1, 1, 10),
+                result.get("winningNumber").asInt());
+        assertEquals(outcomes.commitment(2), result.get("nextCommitment").asText());
+    }
+
+    @Test
+    void closeRound_announcesNextCommitmentBeforeTheRoundTakesBets() throws Exception {
+        CommitRevealOutcomeSource outcomes = new CommitRevealOutcomeSource();
+        Queue<Runnable> settlementStage = new ArrayDeque<>();
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).outcomes(outcomes)
+                .history(new RoundHistory(10)).settlementExecutor(settlementStage::add).build();
+        when(session.isOpen()).thenReturn(true);
+        manager.addPlayer("Alice", session);
+
+        manager.closeRound();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        String payload = captor.getValue().getPayload();
+        assertTrue(payload.startsWith("ROUND_OPEN: "));
+        JsonNode opening = new ObjectMapper().readTree(payload.substring("ROUND_OPEN: ".length()));
+        assertEquals(2, opening.get("round").asLong());
+        String commitment = opening.get("commitment").asText();
+
+        manager.addBet(new Bet("Alice", 5, 1000));
+        manager.closeRound();
+        settlementStage.forEach(Runnable::run);
+
+        verify(session, times(4)).sendMessage(captor.capture());
+        JsonNode result = new ObjectMapper().readTree(captor.getAllValues().stream()
+                .map(TextMessage::getPayload)
+                .filter(p -> p.startsWith("WINNERS: ") && p.contains("\"round\":2"))
+                .findFirst().orElseThrow().substring("WINNERS: ".length()));
+        assertEquals(commitment, CommitRevealOutcomeSource.hash(result.get("seed").asText()));
+    }
+
     @Test
     void getPlayerSession_returnsSessionForExistingPlayer() {
 
@@ -116,32 +281,242 @@ class RoundManagerTest {
         Random mockRandom = mock(Random.class);
         when(mockRandom.nextInt(10)).thenReturn(4);
 
-        RoundManager manager = new RoundManager(objectMapper, mockRandom);
+        RoundManager manager = RoundManager.builder().objectMapper(objectMapper).random(mockRandom).build();
         manager.addPlayer("Alice", session);
-        manager.addBet(new Bet("Alice", 5, 100.0));
+        manager.addBet(new Bet("Alice", 5, 10000));
+        manager.addBet(new Bet("Alice", 3, 10000));
 
         manager.resolveRound();
 
         ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
-        verify(session, times(2)).sendMessage(captor.capture());
+        verify(session).sendMessage(captor.capture());
+
+        String payload = captor.getValue().getPayload();
+        assertTrue(payload.startsWith("WINNERS:"));
+        JsonNode result = objectMapper.readTree(payload.substring("WINNERS: ".length()));
+        assertEquals(1, result.get("winnerCount").asInt());
+        assertEquals(200.0, result.get("result").get("stake").asDouble());
+        assertEquals(990.0, result.get("result").get("winnings").asDouble());
+        assertEquals(790.0, result.get("result").get("net").asDouble());
+        assertEquals(2, result.get("result").get("bets").size());
+        assertEquals(990.0, result.get("result").get("bets").get(0).get("payout").asDouble());
+        assertEquals(0.0, result.get("result").get("bets").get(1).get("payout").asDouble());
+    }
+
+    @Test
+    void addBet_debitsStakeAndRejectsBetsTheBalanceDoesNotCover() throws Exception {
+        RoundManager manager = walletManager(new Wallet(1500), mock(Random.class));
+        int id = manager.addPlayer("Alice", session);
+
+        assertEquals(RoundManager.BetStatus.ACCEPTED, manager.addBet(new Bet("Alice", 5, 1000)));
+        assertEquals(RoundManager.BetStatus.INSUFFICIENT_BALANCE, manager.addBet(new Bet("Alice", 6, 1000)));
+        List<Bet> rejected = manager.addBets(List.of(new Bet("Alice", 7, 500), new Bet("Alice", 8, 1)));
+
+        assertEquals(List.of(new Bet("Alice", 8, 1)), rejected);
+        assertEquals(0, manager.getBalance(id));
+    }
+
+    @Test
+    void resolveRound_creditsWinningsToPlayerAccount() throws Exception {
+        Random mockRandom = mock(Random.class);
+        when(mockRandom.nextInt(10)).thenReturn(4);
+        Wallet wallet = new Wallet(10_000);
+        RoundManager manager = walletManager(wallet, mockRandom);
+        int id = manager.addPlayer("Alice", session);
+        manager.addBet(new Bet("Alice", 5, 1000));
+        manager.addBet(new Bet("Alice", 3, 1000));
+
+        manager.resolveRound();
+
+        assertEquals(10_000 - 2000 + 9900, manager.getBalance(id));
+        assertEquals(manager.getBalance(id), wallet.account("Alice").balance());
+    }
+
+    @Test
+    void closeRound_opensNextRoundWhileClosedRoundWaitsForSettlement() throws Exception {
+        Queue<Runnable> settlementStage = new ArrayDeque<>();
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).outcomes(OutcomeSource.threadLocal())
+                .history(new RoundHistory(10)).settlementExecutor(settlementStage::add).build();
+        manager.addPlayer("Alice", session);
+        Bet first = new Bet("Alice", 5, 1000);
+        Bet second = new Bet("Alice", 6, 1000);
+        manager.addBet(first);
+
+        long closed = manager.closeRound();
+        manager.addBet(second);
+
+        assertEquals(1, closed);
+        assertEquals(1, first.getRound());
+        assertEquals(2, second.getRound());
+        assertEquals(RoundPhase.CLOSED, manager.phase(1));
+        assertEquals(RoundPhase.OPEN, manager.phase(2));
+        assertTrue(manager.getHistory(1).isEmpty());
+
+        settlementStage.poll().run();
+
+        assertEquals(RoundPhase.PUBLISHED, manager.phase(1));
+        assertEquals(1, manager.getHistory(1).get(0).getBetCount());
+        assertEquals(RoundPhase.OPEN, manager.phase(2));
+    }
+
+    @Test
+    void closeRound_countsQueuedBetsAsPendingAndStampsResultWithCloseTime() throws Exception {
+        Queue<Runnable> settlementStage = new ArrayDeque<>();
+        IntakeGate intake = new IntakeGate(0);
+        RoundManager manager = RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).outcomes(OutcomeSource.threadLocal())
+                .history(new RoundHistory(10)).intake(intake).settlementExecutor(settlementStage::add).build();
+        manager.addPlayer("Alice", session);
+        manager.addPlayer("Bob", session);
+        manager.addBets(List.of(new Bet("Alice", 5, 1000), new Bet("Bob", 6, 1000)));
+
+        manager.closeRound();
+        long closedBy = System.currentTimeMillis();
+
+        assertEquals(2, intake.pending());
+        Thread.sleep(20);
+        settlementStage.poll().run();
+
+        assertEquals(0, intake.pending());
+        assertTrue(manager.getHistory(1).get(0).getTimestamp() <= closedBy);
+    }
+
+    @Test
+    void resolveRound_broadcastsTopWinnersAndPagesTheFullList() throws Exception {
+        Random mockRandom = mock(Random.class);
+        when(mockRandom.nextInt(10)).thenReturn(4);
+        RoundManager manager = RoundManager.builder().random(mockRandom).build();
+        manager.addPlayer("Alice", session);
+        when(session.isOpen()).thenReturn(true);
+        for (int i = 1; i <= 25; i++) {
+            manager.addPlayer("Player" + i, mock(WebSocketSession.class));
+            manager.addBet(new Bet("Player" + i, 5, i * 100L));
+        }
+
+        manager.resolveRound();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        JsonNode result = new ObjectMapper().readTree(captor.getValue().getPayload().substring("WINNERS: ".length()));
+        assertEquals(25, result.get("winnerCount").asInt());
+        assertEquals(RoundResultResponse.TOP_WINNERS, result.get("topWinners").size());
+        assertEquals("Player25", result.get("topWinners").get(0).get("nickname").asText());
+        assertEquals("Player16", result.get("topWinners").get(9).get("nickname").asText());
+
+        WinnersPage page = manager.getWinners(1, 2, 10);
+        assertEquals(25, page.getTotal());
+        assertEquals(List.of("Player21", "Player22", "Player23", "Player24", "Player25"),
+                page.getWinners().stream().map(Player::getNickname).toList());
+        assertNull(manager.getWinners(2, 0, 10));
+    }
+
+    private static RoundManager walletManager(Wallet wallet, Random random) {
+        return RoundManager.builder().tableId("table-1")
+                .scheduler(mock(ScheduledExecutorService.class)).random(random)
+                .history(new RoundHistory(10)).wallet(wallet).build();
+    }
+
+    @Test
+    void resolveRound_whenBetMissesWinningNumberThenSendLoseMessage() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+
+        Random mockRandom = mock(Random.class);
+        when(mockRandom.nextInt(10)).thenReturn(4);
+
+        RoundManager manager = RoundManager.builder().random(mockRandom).build();
+        manager.addPlayer("Alice", session);
+        manager.addBet(new Bet("Alice", 3, 10000));
+
+        manager.resolveRound();
+
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+
+        String payload = captor.getValue().getPayload();
+        assertTrue(payload.startsWith("WINNERS:"));
+        assertTrue(payload.contains("\"winnerCount\":0"));
+        assertTrue(payload.contains("\"topWinners\":[]"));
+        assertTrue(payload.contains("\"net\":-100.00"));
+    }
+
+    @Test
+    void resolveRound_sendsBinaryFramesToBinarySessions() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAcceptedProtocol()).thenReturn(BinaryProtocol.SUBPROTOCOL);
+
+        Random mockRandom = mock(Random.class);
+        when(mockRandom.nextInt(10)).thenReturn(4);
+
+        RoundManager manager = RoundManager.builder().random(mockRandom).build();
+        manager.addPlayer("Alice", session);
+        manager.addBet(new Bet("Alice", 5, 1000));
+
+        manager.resolveRound();
+
+        ArgumentCaptor<BinaryMessage> captor = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(session).sendMessage(captor.capture());
+
+        ByteBuffer round = captor.getValue().getPayload();
+        assertEquals(BinaryProtocol.ROUND_RESULT, round.get());
+        assertEquals(5, round.get());
+        assertEquals(1, round.getInt());
+        assertEquals(9900, round.getLong());
+        assertEquals(1000, round.getLong());
+        assertEquals(9900, round.getLong());
+        assertEquals(1, round.getInt());
+        assertEquals(5, round.get());
+        assertEquals(1000, round.getLong());
+        assertEquals(9900, round.getLong());
+    }
+
+    @Test
+    void roundResult_countsMoreBetsThanFitInAShort() {
+        PlayerResult result = new PlayerResult();
+        for (int i = 0; i < 70_000; i++) {
+            result.add(new Bet("Alice", 3, 100), 0);
+        }
+
+        ByteBuffer frame = BinaryProtocol.roundResult(BinaryProtocol.round(5, 0, 0), result).getPayload();
+
+        frame.position(1 + 1 + Integer.BYTES + 3 * Long.BYTES);
+        assertEquals(70_000, frame.getInt());
+        assertEquals(70_000 * (1 + 2 * Long.BYTES), frame.remaining());
+    }
+
+    @Test
+    void resolveRound_sendsSameSummaryFrameToEveryPlayer() throws Exception {
+        WebSocketSession first = mock(WebSocketSession.class);
+        WebSocketSession second = mock(WebSocketSession.class);
+        when(first.isOpen()).thenReturn(true);
+        when(second.isOpen()).thenReturn(true);
+
+        roundManager.addPlayer("Alice", first);
+        roundManager.addPlayer("Bob", second);
+        roundManager.resolveRound();
 
-        List<TextMessage> messages = captor.getAllValues();
-        assertTrue(messages.get(0).getPayload().startsWith("WIN:"));
-        assertTrue(messages.get(1).getPayload().startsWith("WINNERS:"));
+        ArgumentCaptor<TextMessage> firstCaptor = ArgumentCaptor.forClass(TextMessage.class);
+        ArgumentCaptor<TextMessage> secondCaptor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(first).sendMessage(firstCaptor.capture());
+        verify(second).sendMessage(secondCaptor.capture());
+        assertTrue(firstCaptor.getValue().getPayload().startsWith("WINNERS: {"));
+        assertSame(firstCaptor.getValue(), secondCaptor.getValue());
     }
 
     @Test
     void resolveRound_sendErrorMessageWhenHandlingJsonProcessingException() throws Exception {
         ObjectMapper mockMapper = mock(ObjectMapper.class);
-        doThrow(new JsonProcessingException("JSON error"){}).when(mockMapper).writeValueAsString(any());
+        doThrow(new JsonProcessingException("JSON error"){}).when(mockMapper).writeValueAsBytes(any());
 
-        RoundManager roundManager = new RoundManager(mockMapper, new Random());
+        RoundManager roundManager = RoundManager.builder().objectMapper(mockMapper).build();
 
         WebSocketSession session = mock(WebSocketSession.class);
         when(session.isOpen()).thenReturn(true);
 
         roundManager.addPlayer("player1", session);
-        Bet bet = new Bet("player1", 5, 10);
+        Bet bet = new Bet("player1", 5, 1000);
         roundManager.addBet(bet);
 
         roundManager.resolveRound();
@@ -150,7 +525,7 @@ class RoundManagerTest {
         verify(session, atLeastOnce()).sendMessage(captor.capture());
 
         boolean foundErrorMessage = captor.getAllValues().stream()
-                .anyMatch(msg -> msg.getPayload().startsWith("ERROR: General error: JSON error"));
+                .anyMatch(msg -> msg == ErrorCode.INTERNAL_ERROR.frame());
 
         assertTrue(foundErrorMessage);
     }
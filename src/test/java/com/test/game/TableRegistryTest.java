@@ -0,0 +1,148 @@
+package com.test.game;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TableRegistryTest {
+
+    private final Map<String, ScheduledExecutorService> shardsByTable = new ConcurrentHashMap<>();
+    private TableRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void constructor_opensAndStartsDefaultTable() {
+        registry = newRegistry(4, 10);
+
+        RoundManager table = registry.table(TableRegistry.DEFAULT_TABLE);
+
+        assertNotNull(table);
+        verify(table).startGameLoop(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void table_returnsSameTableForSameId() {
+        registry = newRegistry(4, 10);
+
+        RoundManager first = registry.table("table-42");
+        RoundManager second = registry.table("table-42");
+
+        assertSame(first, second);
+        assertNotSame(first, registry.table(TableRegistry.DEFAULT_TABLE));
+        assertEquals(2, registry.tables().size());
+    }
+
+    @Test
+    void table_pinsTablesToShards() {
+        registry = newRegistry(2, 10);
+
+        for (int i = 0; i < 8; i++) {
+            registry.table("table-" + i);
+        }
+
+        assertEquals(2, shardsByTable.values().stream().distinct().count());
+    }
+
+    @Test
+    void table_returnsNullWhenTableLimitReached() {
+        registry = newRegistry(1, 2);
+
+        assertNotNull(registry.table("table-1"));
+        assertNull(registry.table("table-2"));
+    }
+
+    @Test
+    void table_neverExceedsLimitUnderConcurrentOpens() throws Exception {
+        registry = newRegistry(4, 5);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 64; i++) {
+                String tableId = "table-" + i;
+                callers.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    registry.table(tableId);
+                });
+            }
+            start.countDown();
+        } finally {
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(5, registry.tables().size());
+        assertEquals(5, shardsByTable.size());
+    }
+
+    @Test
+    void forSession_returnsJoinedTableOrDefault() {
+        registry = newRegistry(1, 10);
+        RoundManager joined = registry.table("table-1");
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getAttributes()).thenReturn(attributes);
+
+        assertSame(registry.table(TableRegistry.DEFAULT_TABLE), registry.forSession(session));
+
+        attributes.put(TableRegistry.TABLE_ATTRIBUTE, "table-1");
+        assertSame(joined, registry.forSession(session));
+    }
+
+    @Test
+    void isValidTableId_rejectsBlankAndUnsafeIds() {
+        assertTrue(TableRegistry.isValidTableId("table-42"));
+        assertFalse(TableRegistry.isValidTableId(""));
+        assertFalse(TableRegistry.isValidTableId("table 42"));
+        assertFalse(TableRegistry.isValidTableId("x".repeat(65)));
+    }
+
+    @Test
+    void isJoinable_allowsOnlyDefaultAndListedTables() {
+        registry = new TableRegistry(1, 10, Duration.ofSeconds(10), (tableId, shard) -> mock(RoundManager.class),
+                tableId -> true, "table-1"::equals);
+
+        assertTrue(registry.isJoinable(TableRegistry.DEFAULT_TABLE));
+        assertTrue(registry.isJoinable("table-1"));
+        assertFalse(registry.isJoinable("table-2"));
+        assertFalse(registry.isJoinable("table 1"));
+        assertEquals(1, registry.tables().size());
+    }
+
+    private TableRegistry newRegistry(int shards, int maxTables) {
+        return new TableRegistry(shards, maxTables, Duration.ofSeconds(10), (tableId, shard) -> {
+            shardsByTable.put(tableId, shard);
+            return mock(RoundManager.class);
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.test.game;
+
+import com.test.game.intake.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryTake_allowsBurstThenRefillsAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = 42 * SECOND;
+
+        assertTrue(bucket.tryTake(5, now));
+        assertFalse(bucket.tryTake(1, now));
+        assertTrue(bucket.tryTake(1, now + SECOND / 10));
+        assertFalse(bucket.tryTake(1, now + SECOND / 10));
+        assertTrue(bucket.tryTake(5, now + 2 * SECOND));
+    }
+
+    @Test
+    void tryTake_refusesMoreThanBurstAtOnce() {
+        TokenBucket bucket = new TokenBucket(100, 8);
+
+        assertFalse(bucket.tryTake(9, SECOND));
+        assertTrue(bucket.tryTake(8, SECOND));
+    }
+
+    @Test
+    void tryTake_alwaysSucceedsWithoutRate() {
+        TokenBucket bucket = new TokenBucket(0, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bucket.tryTake(100, SECOND));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.test.game;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.test.game.dto.Bet;
+import com.test.game.wallet.Account;
+import com.test.game.wallet.Wallet;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalletTest {
+
+    @Test
+    void tryDebit_neverOverdrawsUnderConcurrentDebits() throws Exception {
+        Account account = new Wallet(1000).account("Alice");
+        AtomicInteger debited = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 10_000; i++) {
+                executor.execute(() -> {
+                    if (account.tryDebit(1)) {
+                        debited.incrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1000, debited.get());
+        assertEquals(0, account.balance());
+    }
+
+    @Test
+    void account_isOpenedOnceWithInitialBalance() {
+        Wallet wallet = new Wallet(500);
+
+        Account account = wallet.account("Bob");
+        account.credit(250);
+
+        assertSame(account, wallet.account("Bob"));
+        assertEquals(750, wallet.account("Bob").balance());
+    }
+
+    @Test
+    void json_carriesAmountsAsDecimalUnits() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("{\"nickname\":\"Alice\",\"number\":3,\"amount\":12.50}",
+                objectMapper.writeValueAsString(new Bet("Alice", 3, 1250)));
+        assertEquals(new Bet("Alice", 3, 1250),
+                objectMapper.readValue("{\"nickname\":\"Alice\",\"number\":3,\"amount\":12.5}", Bet.class));
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"nickname\":\"Alice\",\"number\":3,\"amount\":0.001}", Bet.class));
+    }
+}
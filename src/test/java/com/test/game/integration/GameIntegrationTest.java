@@ -8,11 +8,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -33,11 +36,14 @@ public class GameIntegrationTest {
 
     @BeforeEach
     public void setup() throws Exception {
+        messages.clear();
         StandardWebSocketClient client = new StandardWebSocketClient();
         session = client
                 .doHandshake(new TestWebSocketHandler(), null, URI.create("ws://localhost:" + port + "/ws/game"))
                 .get();
         session.sendMessage(new TextMessage("NICKNAME:PlayerTest"));
+        String registered = messages.poll(5, TimeUnit.SECONDS);
+        assertTrue(registered != null && registered.startsWith("REGISTERED:"), "Unexpected message: " + registered);
     }
 
     @AfterEach
@@ -60,6 +66,21 @@ public class GameIntegrationTest {
                 "Unexpected message: " + message);
     }
 
+    @Test
+    public void testPermessageDeflateIsNegotiated() throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketExtensions(List.of(new WebSocketExtension("permessage-deflate")));
+        WebSocketSession compressed = new StandardWebSocketClient()
+                .execute(new TestWebSocketHandler(), headers, URI.create("ws://localhost:" + port + "/ws/game"))
+                .get();
+        try {
+            assertTrue(compressed.getExtensions().stream().anyMatch(e -> e.getName().equals("permessage-deflate")),
+                    "Negotiated extensions: " + compressed.getExtensions());
+        } finally {
+            compressed.close();
+        }
+    }
+
     private class TestWebSocketHandler extends AbstractWebSocketHandler {
         @Override
         protected void handleTextMessage(WebSocketSession session, TextMessage message) {